@@ -0,0 +1,127 @@
+package com.allobank.benchmark;
+
+import com.allobank.config.ConversionProperties;
+import com.allobank.config.RefreshProperties;
+import com.allobank.config.SpreadFactor;
+import com.allobank.config.StreamProperties;
+import com.allobank.controller.FinanceDataController;
+import com.allobank.controller.FinanceDataHandler;
+import com.allobank.controller.FinanceDataRouter;
+import com.allobank.dto.CurrenciesResponse;
+import com.allobank.dto.HistoricalRatesResponse;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.HistoricalRateSeries;
+import com.allobank.service.ConversionService;
+import com.allobank.service.CrossRateService;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.FinanceDataService;
+import com.allobank.service.HistoricalAnalyticsService;
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.RateStreamService;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResourceResponses;
+import com.allobank.service.SpreadQuoteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Full request handling of {@code GET /api/finance/data/{resourceType}} through Spring MVC
+ * and through the reactive functional handler, including writing of the response body,
+ * for each resource type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControllerSerializationBenchmark {
+
+    @Param({"latest_idr_rates", "historical_idr_usd", "supported_currencies",
+            "historical_idr_usd?from=2023-06-01&to=2023-06-30"})
+    public String request;
+
+    private MockMvc mockMvc;
+    private WebTestClient webTestClient;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        InMemoryDataStore dataStore = new InMemoryDataStore(objectMapper);
+        dataStore.storeData("latest_idr_rates", objectMapper.readValue(
+                Fixtures.load(Fixtures.LATEST_IDR_RATES), LatestRatesResponse.class));
+        dataStore.storeData("historical_idr_usd", HistoricalRateSeries.from(objectMapper.readValue(
+                Fixtures.load(Fixtures.HISTORICAL_IDR_USD), HistoricalRatesResponse.class)));
+        dataStore.storeData("supported_currencies", objectMapper.readValue(
+                Fixtures.load(Fixtures.SUPPORTED_CURRENCIES), CurrenciesResponse.class));
+        dataStore.markDataLoaded();
+
+        DataRefreshService refreshService = new DataRefreshService(List.of(), dataStore, new RefreshProperties(),
+                new SimpleMeterRegistry());
+        ResourceResponses responses = new ResourceResponses(dataStore, refreshService);
+        RequestMetrics requestMetrics = new RequestMetrics(new SimpleMeterRegistry());
+        CrossRateService crossRateService = new CrossRateService(dataStore, responses);
+        FinanceDataService financeDataService = new FinanceDataService(dataStore, responses);
+        SpreadFactor spreadFactor = new SpreadFactor("benchmark");
+        ConversionService conversionService = new ConversionService(crossRateService, new ConversionProperties(),
+                spreadFactor);
+        mockMvc = MockMvcBuilders.standaloneSetup(new FinanceDataController(financeDataService, refreshService,
+                        requestMetrics))
+                .setMessageConverters(new ByteArrayHttpMessageConverter(),
+                        new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+        webTestClient = WebTestClient.bindToRouterFunction(new FinanceDataRouter()
+                        .financeDataRoutes(new FinanceDataHandler(financeDataService, crossRateService,
+                                new SpreadQuoteService(dataStore, objectMapper, responses, spreadFactor),
+                                new HistoricalAnalyticsService(dataStore, responses), conversionService,
+                                new RateStreamService(dataStore, objectMapper, new StreamProperties(),
+                                        new SimpleMeterRegistry()),
+                                responses, refreshService, requestMetrics)))
+                .handlerStrategies(HandlerStrategies.builder()
+                        .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(
+                                new Jackson2JsonEncoder(objectMapper)))
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] getFinanceData() throws Exception {
+        return mockMvc.perform(get("/api/finance/data/" + request))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getFinanceDataReactive() {
+        return webTestClient.get().uri("/api/finance/data/" + request)
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+}
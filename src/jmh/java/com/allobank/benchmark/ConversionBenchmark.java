@@ -0,0 +1,103 @@
+package com.allobank.benchmark;
+
+import com.allobank.config.ConversionProperties;
+import com.allobank.config.RefreshProperties;
+import com.allobank.config.SpreadFactor;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.ConversionBatch;
+import com.allobank.service.ConversionResult;
+import com.allobank.service.ConversionService;
+import com.allobank.service.CrossRateService;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.ResourceResponses;
+import com.allobank.service.StoredResource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk conversion of {@code size} random pairs from the captured latest rates: parsing the
+ * request body, evaluating against the cross-rate matrix, and the full parse-evaluate-write path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ConversionService conversionService;
+    private StoredResource latest;
+    private byte[] body;
+    private ConversionBatch batch;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        InMemoryDataStore dataStore = new InMemoryDataStore(objectMapper);
+        LatestRatesResponse rates = objectMapper.readValue(Fixtures.load(Fixtures.LATEST_IDR_RATES),
+                LatestRatesResponse.class);
+        dataStore.storeData("latest_idr_rates", rates);
+        latest = dataStore.getResource("latest_idr_rates");
+
+        conversionService = new ConversionService(new CrossRateService(dataStore, new ResourceResponses(dataStore,
+                new DataRefreshService(List.of(), dataStore, new RefreshProperties(), new SimpleMeterRegistry()))),
+                new ConversionProperties(), new SpreadFactor("benchmark"));
+
+        List<String> currencies = new ArrayList<>(rates.getRates().keySet());
+        currencies.add(rates.getBase());
+        StringBuilder json = new StringBuilder("[");
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("{\"from\":\"").append(currencies.get(random.nextInt(currencies.size())))
+                    .append("\",\"to\":\"").append(currencies.get(random.nextInt(currencies.size())))
+                    .append("\",\"amount\":").append(random.nextInt(1_000_000) / 100.0).append('}');
+        }
+        body = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        batch = conversionService.parse(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public ConversionBatch parse() throws IOException {
+        return conversionService.parse(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public ConversionResult evaluate() {
+        return conversionService.convert(batch, latest, true);
+    }
+
+    @Benchmark
+    public byte[] parseEvaluateWrite() throws IOException {
+        ConversionResult result = conversionService.convert(
+                conversionService.parse(new ByteArrayInputStream(body)), latest, true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 96);
+        conversionService.write(result, out);
+        return out.toByteArray();
+    }
+}
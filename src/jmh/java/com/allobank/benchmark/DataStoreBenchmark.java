@@ -0,0 +1,87 @@
+package com.allobank.benchmark;
+
+import com.allobank.dto.CurrenciesResponse;
+import com.allobank.dto.HistoricalRatesResponse;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.HistoricalRateSeries;
+import com.allobank.service.InMemoryDataStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store reads under contention: many readers alone, and readers racing a writer that
+ * keeps publishing new snapshots as a refresh would.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataStoreBenchmark {
+
+    private InMemoryDataStore dataStore;
+    private LatestRatesResponse latest;
+    private LatestRatesResponse latestUpdated;
+    private boolean toggle;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        dataStore = new InMemoryDataStore(objectMapper);
+
+        latest = objectMapper.readValue(Fixtures.load(Fixtures.LATEST_IDR_RATES), LatestRatesResponse.class);
+        latestUpdated = LatestRatesResponse.builder()
+                .amount(BigDecimal.TEN)
+                .base(latest.getBase())
+                .date(latest.getDate())
+                .rates(latest.getRates())
+                .build();
+        dataStore.storeData("latest_idr_rates", latest);
+        dataStore.storeData("historical_idr_usd", HistoricalRateSeries.from(objectMapper.readValue(
+                Fixtures.load(Fixtures.HISTORICAL_IDR_USD), HistoricalRatesResponse.class)));
+        dataStore.storeData("supported_currencies", objectMapper.readValue(
+                Fixtures.load(Fixtures.SUPPORTED_CURRENCIES), CurrenciesResponse.class));
+        dataStore.markDataLoaded();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object getDataContended() {
+        return dataStore.getData("latest_idr_rates");
+    }
+
+    @Benchmark
+    @Group("readDuringRefresh")
+    @GroupThreads(7)
+    public Object reader() {
+        return dataStore.getData("latest_idr_rates");
+    }
+
+    /**
+     * Alternates between two payloads so every call encodes and publishes a new snapshot.
+     */
+    @Benchmark
+    @Group("readDuringRefresh")
+    @GroupThreads(1)
+    public boolean writer() {
+        toggle = !toggle;
+        return dataStore.storeData("latest_idr_rates", toggle ? latestUpdated : latest);
+    }
+}
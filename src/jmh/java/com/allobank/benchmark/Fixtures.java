@@ -0,0 +1,42 @@
+package com.allobank.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Realistic Frankfurter payloads shared by the benchmarks, loaded from {@code src/jmh/resources/fixtures}.
+ */
+final class Fixtures {
+
+    static final String LATEST_IDR_RATES = "fixtures/latest-idr-rates.json";
+    static final String HISTORICAL_IDR_USD = "fixtures/historical-idr-usd.json";
+    static final String SUPPORTED_CURRENCIES = "fixtures/supported-currencies.json";
+
+    private Fixtures() {
+    }
+
+    /**
+     * Mapper configured like the application's.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static byte[] load(String path) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark fixture: " + path);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.allobank.benchmark;
+
+import com.allobank.dto.HistoricalRatesResponse;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.HistoricalRateSeries;
+import com.allobank.model.HistoricalRateSeriesParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestion of captured Frankfurter payloads: Jackson data binding into the DTOs versus
+ * the streaming parser that feeds the columnar historical series.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonDeserializationBenchmark {
+
+    /**
+     * Size of the network chunks fed to the non-blocking parser.
+     */
+    @Param({"8192"})
+    public int chunkSize;
+
+    private ObjectMapper objectMapper;
+    private byte[] latestJson;
+    private byte[] historicalJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        latestJson = Fixtures.load(Fixtures.LATEST_IDR_RATES);
+        historicalJson = Fixtures.load(Fixtures.HISTORICAL_IDR_USD);
+    }
+
+    @Benchmark
+    public LatestRatesResponse latestRatesDataBinding() throws IOException {
+        return objectMapper.readValue(latestJson, LatestRatesResponse.class);
+    }
+
+    @Benchmark
+    public HistoricalRatesResponse historicalDataBinding() throws IOException {
+        return objectMapper.readValue(historicalJson, HistoricalRatesResponse.class);
+    }
+
+    @Benchmark
+    public HistoricalRateSeries historicalDataBindingToSeries() throws IOException {
+        return HistoricalRateSeries.from(objectMapper.readValue(historicalJson, HistoricalRatesResponse.class));
+    }
+
+    @Benchmark
+    public HistoricalRateSeries historicalStreamingParser() throws IOException {
+        try (HistoricalRateSeriesParser parser = HistoricalRateSeriesParser.nonBlocking()) {
+            for (int offset = 0; offset < historicalJson.length; offset += chunkSize) {
+                parser.feed(ByteBuffer.wrap(historicalJson, offset, Math.min(chunkSize, historicalJson.length - offset)));
+            }
+            return parser.finish();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.allobank.benchmark;
+
+import com.allobank.model.HistoricalRateAnalytics;
+import com.allobank.model.HistoricalRateSeries;
+import com.allobank.model.RangeStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics over the middle half of a synthetic daily USD series of {@code days} dates:
+ * answered from the precomputed aggregates, and by slicing the series and scanning the slice.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RangeStatisticsBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+
+    @Param({"250", "2500"})
+    public int days;
+
+    private HistoricalRateSeries series;
+    private HistoricalRateAnalytics analytics;
+    private int column;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        HistoricalRateSeries.Builder builder = HistoricalRateSeries.builder().base("IDR");
+        Random random = new Random(42);
+        long rate = 6_400_000;
+        for (int day = 0; day < days; day++) {
+            rate += random.nextInt(20_001) - 10_000;
+            builder.addRate(START.plusDays(day), "USD", BigDecimal.valueOf(rate, 11));
+        }
+        series = builder.build();
+        analytics = HistoricalRateAnalytics.from(series);
+        column = analytics.currencyIndex("USD");
+        from = START.plusDays(days / 4);
+        to = START.plusDays(days * 3L / 4);
+    }
+
+    @Benchmark
+    public RangeStatistics precomputed() {
+        return analytics.statistics(column, from, to);
+    }
+
+    @Benchmark
+    public double[] sliceAndScan() {
+        HistoricalRateSeries slice = series.slice(from, to);
+        int sliceColumn = slice.currencyIndex("USD");
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        double sumOfSquares = 0;
+        int count = 0;
+        for (int row = 0; row < slice.size(); row++) {
+            BigDecimal rate = slice.getRate(sliceColumn, row);
+            if (rate != null) {
+                double value = rate.doubleValue();
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+                sumOfSquares += value * value;
+                count++;
+            }
+        }
+        double mean = sum / count;
+        return new double[]{min, max, mean, Math.sqrt(sumOfSquares / count - mean * mean)};
+    }
+}
@@ -0,0 +1,65 @@
+package com.allobank.benchmark;
+
+import com.allobank.util.SpreadCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spread factor derivation and the BigDecimal vs fixed-point USD buy spread calculation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpreadCalculatorBenchmark {
+
+    private String githubUsername;
+    private BigDecimal usdRate;
+    private long usdRateUnscaled;
+    private int usdRateScale;
+    private BigDecimal spreadFactor;
+    private int spreadFactorUnits;
+
+    @Setup
+    public void setUp() {
+        githubUsername = "dimasprass";
+        usdRate = new BigDecimal("0.0000645");
+        usdRateUnscaled = usdRate.unscaledValue().longValueExact();
+        usdRateScale = usdRate.scale();
+        spreadFactor = SpreadCalculator.calculateSpreadFactor(githubUsername);
+        spreadFactorUnits = SpreadCalculator.calculateSpreadFactorUnits(githubUsername);
+    }
+
+    @Benchmark
+    public BigDecimal spreadFactor() {
+        return SpreadCalculator.calculateSpreadFactor(githubUsername);
+    }
+
+    @Benchmark
+    public BigDecimal buySpreadBigDecimal() {
+        return SpreadCalculator.calculateUsdBuySpreadIdr(usdRate, spreadFactor);
+    }
+
+    @Benchmark
+    public BigDecimal buySpreadRouted() {
+        return SpreadCalculator.calculateUsdBuySpreadIdr(usdRate, spreadFactorUnits);
+    }
+
+    @Benchmark
+    public long buySpreadFixedPoint() {
+        return SpreadCalculator.calculateUsdBuySpreadIdrUnscaled(usdRateUnscaled, usdRateScale, spreadFactorUnits);
+    }
+}
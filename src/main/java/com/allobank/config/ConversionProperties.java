@@ -0,0 +1,16 @@
+package com.allobank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "data.conversion")
+public class ConversionProperties {
+
+    /**
+     * Largest number of conversions accepted in one bulk request.
+     */
+    private int maxItems = 100_000;
+}
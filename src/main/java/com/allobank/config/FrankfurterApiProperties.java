@@ -13,14 +13,83 @@ public class FrankfurterApiProperties {
     private String baseUrl;
     private Duration connectTimeout = Duration.ofSeconds(5);
     private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Whether to request gzip-compressed responses.
+     */
+    private boolean compression = true;
+    private Pool pool = new Pool();
+    private Resilience resilience = new Resilience();
     private Historical historical = new Historical();
 
+    @Data
+    public static class Pool {
+        private int maxConnections = 16;
+
+        /**
+         * Maximum number of requests waiting for a connection; -1 for no limit.
+         */
+        private int pendingAcquireMaxCount = 256;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Idle connections are closed after this long, before the server drops them silently.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /**
+         * Whether to publish connection pool metrics to Micrometer.
+         */
+        private boolean metricsEnabled = true;
+    }
+
+    @Data
+    public static class Resilience {
+
+        /**
+         * Retries per latest-rates and currencies fetch for transient failures; the
+         * historical backfill retries per window instead.
+         */
+        private int maxRetries = 2;
+        private Duration retryBackoff = Duration.ofMillis(200);
+        private Duration maxRetryBackoff = Duration.ofSeconds(2);
+
+        /**
+         * Random spread of each backoff, as a fraction of it, so instances do not retry in lockstep.
+         */
+        private double retryJitter = 0.5;
+
+        /**
+         * A second latest-rates request is sent if the first has not answered within this
+         * delay, and the first answer wins; zero disables hedging.
+         */
+        private Duration hedgeDelay = Duration.ofMillis(500);
+    }
+
     @Data
     public static class Historical {
         private String startDate;
         private String endDate;
         private String fromCurrency;
         private String toCurrency;
+
+        /**
+         * Size in days of each window the date range is split into for backfills.
+         */
+        private int windowDays = 90;
+
+        /**
+         * Maximum number of windows fetched concurrently.
+         */
+        private int parallelism = 4;
+
+        /**
+         * Retries per window for transient failures.
+         */
+        private int maxRetries = 3;
+        private Duration retryBackoff = Duration.ofMillis(500);
     }
 }
 
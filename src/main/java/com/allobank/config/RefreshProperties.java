@@ -0,0 +1,67 @@
+package com.allobank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "data.refresh")
+public class RefreshProperties {
+    private boolean enabled = true;
+    private Duration defaultInterval = Duration.ofHours(1);
+
+    /**
+     * Refresh interval per resource type. Keys must use bracket notation in YAML
+     * (e.g. {@code "[latest_idr_rates]": 10m}) so the underscores are preserved.
+     */
+    private Map<String, Duration> intervals = new HashMap<>();
+
+    private ReadThrough readThrough = new ReadThrough();
+
+    /**
+     * How often a resource whose last fetch failed, or that never loaded, is fetched again
+     * between its regular refreshes. Until then its last good snapshot is served as stale.
+     */
+    private Duration failureRetryInterval = Duration.ofMinutes(1);
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    public Duration getInterval(String resourceType) {
+        return intervals.getOrDefault(resourceType, defaultInterval);
+    }
+
+    /**
+     * On-demand fetching of resources missing from the store when they are requested.
+     */
+    @Data
+    public static class ReadThrough {
+        private boolean enabled = true;
+
+        /**
+         * How long a request waits for the shared on-demand fetch before giving up.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Per-resource circuit breaker around upstream fetches.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Consecutive failed fetches after which the circuit opens.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * How long fetches are rejected before a trial fetch is let through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,21 @@
+package com.allobank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "data.snapshot")
+public class SnapshotProperties {
+    private boolean enabled = true;
+    private Path file = Path.of("data", "finance-snapshot.bin");
+
+    /**
+     * Snapshots written longer ago than this are ignored on startup.
+     */
+    private Duration maxAge = Duration.ofDays(7);
+}
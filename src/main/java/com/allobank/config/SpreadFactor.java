@@ -0,0 +1,34 @@
+package com.allobank.config;
+
+import com.allobank.util.SpreadCalculator;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * The spread factor of the configured GitHub username, derived once at startup and shared by
+ * every component that applies a spread. A missing username fails startup rather than the
+ * first fetch.
+ */
+@Getter
+@Component
+public class SpreadFactor {
+
+    /**
+     * The spread factor in units of 0.00001.
+     */
+    private final int units;
+
+    public SpreadFactor(@Value("${github.username}") String githubUsername) {
+        this.units = SpreadCalculator.calculateSpreadFactorUnits(githubUsername);
+    }
+
+    /**
+     * @return The spread factor at {@link SpreadCalculator#SPREAD_FACTOR_SCALE}
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SpreadCalculator.SPREAD_FACTOR_SCALE);
+    }
+}
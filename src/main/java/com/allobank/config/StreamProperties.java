@@ -0,0 +1,23 @@
+package com.allobank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "data.stream")
+public class StreamProperties {
+
+    /**
+     * Events buffered per subscriber before it is treated as a slow consumer and disconnected.
+     */
+    private int bufferSize = 16;
+
+    /**
+     * Interval of the comment lines that keep idle streams open through proxies.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+}
@@ -0,0 +1,77 @@
+package com.allobank.controller;
+
+import com.allobank.model.ConversionBatch;
+import com.allobank.service.ConversionResult;
+import com.allobank.service.ConversionService;
+import com.allobank.service.CrossRateService;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResourceResponses;
+import com.allobank.service.StoredResource;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * REST Controller for bulk currency conversion against the current rate snapshot.
+ * Active in the default servlet mode; the reactive mode is served by {@link FinanceDataHandler}.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ConversionController {
+
+    private final ConversionService conversionService;
+    private final CrossRateService crossRateService;
+    private final ResourceResponses responses;
+    private final RequestMetrics requestMetrics;
+
+    /**
+     * Converts a JSON array of {@code {"from", "to", "amount"}} objects. Results are streamed
+     * back in request order; pairs with an unknown currency carry an {@code error} instead of
+     * a rate. With {@code spread=true} each rate includes the buy spread.
+     */
+    @PostMapping(path = ConversionService.CONVERT_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> convert(@RequestParam(defaultValue = "false") boolean spread, InputStream body) {
+        Timer.Sample sample = requestMetrics.startRequest();
+        ResponseEntity<?> response = serve(spread, body);
+        requestMetrics.recordRequest(sample, ConversionService.RESOURCE_TAG, response);
+        return response;
+    }
+
+    private ResponseEntity<?> serve(boolean spread, InputStream body) {
+        ConversionBatch batch;
+        try {
+            batch = conversionService.parse(body);
+        } catch (IOException e) {
+            log.warn("Rejected conversion request: {}", e.getMessage());
+            return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Request Body", e.getMessage(),
+                    ConversionService.CONVERT_PATH);
+        }
+        log.debug("Received conversion request with {} item(s)", batch.size());
+
+        StoredResource latest = crossRateService.getSource().block();
+        if (latest == null) {
+            return responses.unavailable(CrossRateService.SOURCE_RESOURCE_TYPE,
+                    ConversionService.CONVERT_PATH);
+        }
+
+        ConversionResult result = conversionService.convert(batch, latest, spread);
+        StreamingResponseBody stream = out -> conversionService.write(result, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(ConversionService.RATES_DATE_HEADER, String.valueOf(result.ratesDate()))
+                .body(stream);
+    }
+}
@@ -0,0 +1,49 @@
+package com.allobank.controller;
+
+import com.allobank.service.CrossRateService;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.StoredResource;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for cross rates between any two currencies of the latest IDR rates,
+ * answered from the precomputed cross-rate matrix without calling the upstream API.
+ * Active in the default servlet mode; the reactive mode is served by {@link FinanceDataHandler}.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CrossRateController {
+
+    private final CrossRateService crossRateService;
+    private final RequestMetrics requestMetrics;
+
+    /**
+     * Returns the units of {@code to} per unit of {@code from}, or every rate of {@code from}
+     * when {@code to} is omitted.
+     */
+    @GetMapping(CrossRateService.CROSS_RATES_PATH)
+    public ResponseEntity<?> getCrossRates(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Received cross-rate request from: {} to: {}", from, to);
+        Timer.Sample sample = requestMetrics.startRequest();
+        StoredResource latest = from == null || from.isBlank()
+                ? null
+                : crossRateService.getSource().block();
+        ResponseEntity<?> response = crossRateService.respond(from, to, ifNoneMatch, latest);
+        requestMetrics.recordRequest(sample, CrossRateService.RESOURCE_TAG, response);
+        return response;
+    }
+}
@@ -1,81 +1,105 @@
 package com.allobank.controller;
 
-import com.allobank.dto.ApiErrorResponse;
-import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.ContentCoding;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.FinanceDataQuery;
+import com.allobank.service.FinanceDataService;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResponseFormat;
+import com.allobank.service.StoredResource;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * REST Controller for finance data aggregation endpoint.
  * Uses map-based data retrieval from in-memory store (data pre-loaded by ApplicationRunner).
  * Strategy selection is handled by Spring's dependency injection of all IDRDataFetcher implementations.
+ * Active in the default servlet mode; the reactive mode is served by {@link FinanceDataHandler}.
  */
 @Slf4j
 @RestController
-@RequestMapping("/api/finance/data")
+@RequestMapping(FinanceDataService.BASE_PATH)
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class FinanceDataController {
 
-    private static final Set<String> VALID_RESOURCE_TYPES = Set.of(
-            "latest_idr_rates",
-            "historical_idr_usd",
-            "supported_currencies"
-    );
+    /**
+     * Slack on top of the read-through timeout for a batch to be assembled once its resources are loaded.
+     */
+    private static final Duration BATCH_WAIT_MARGIN = Duration.ofSeconds(1);
 
-    private final InMemoryDataStore dataStore;
+    private final FinanceDataService financeDataService;
+    private final DataRefreshService refreshService;
+    private final RequestMetrics requestMetrics;
 
+    /**
+     * Serves a stored resource. For {@code historical_idr_usd}, either a {@code from}/{@code to}
+     * date range or a single point-in-time {@code date} may be requested; both are answered
+     * from the in-memory date index. A full resource is served as CBOR or Smile when the
+     * {@code Accept} header asks for it, and as JSON otherwise. It is sent gzip-compressed,
+     * from a variant compressed when the resource was stored, if {@code Accept-Encoding} allows.
+     */
     @GetMapping("/{resourceType}")
-    public ResponseEntity<?> getFinanceData(@PathVariable String resourceType) {
+    public ResponseEntity<?> getFinanceData(
+            @PathVariable String resourceType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.debug("Received request for resource type: {}", resourceType);
+        Timer.Sample sample = requestMetrics.startRequest();
+        ResponseEntity<?> response = serve(new FinanceDataQuery(resourceType, from, to, date, ifNoneMatch,
+                ResponseFormat.negotiate(accept), ContentCoding.negotiate(acceptEncoding)));
+        requestMetrics.recordRequest(sample, resourceType, response);
+        return response;
+    }
 
-        // Validate resource type using set-based lookup (no if/else chain)
-        if (!VALID_RESOURCE_TYPES.contains(resourceType)) {
-            ApiErrorResponse error = ApiErrorResponse.builder()
-                    .timestamp(LocalDateTime.now())
-                    .status(HttpStatus.BAD_REQUEST.value())
-                    .error("Invalid Resource Type")
-                    .message("Resource type must be one of: " + String.join(", ", VALID_RESOURCE_TYPES))
-                    .path("/api/finance/data/" + resourceType)
-                    .build();
-            return ResponseEntity.badRequest().body(error);
+    /**
+     * Serves several resources in one response, as a JSON object keyed by resource type.
+     * Missing resources are read through to upstream concurrently.
+     */
+    @GetMapping
+    public ResponseEntity<?> getFinanceDataBatch(
+            @RequestParam(required = false) String types,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Received batch request for resource types: {}", types);
+        Timer.Sample sample = requestMetrics.startRequest();
+        List<String> resourceTypes = FinanceDataService.parseTypes(types);
+        ResponseEntity<?> response = financeDataService.validateBatch(resourceTypes);
+        if (response == null) {
+            // Each missing resource gives up on its read-through after the timeout, and they load concurrently
+            Map<String, StoredResource> resources = financeDataService.getResources(resourceTypes)
+                    .block(refreshService.getReadThroughTimeout().plus(BATCH_WAIT_MARGIN));
+            response = financeDataService.respondBatch(resourceTypes, resources, ifNoneMatch);
         }
+        requestMetrics.recordRequest(sample, FinanceDataService.BATCH_RESOURCE_TAG, response);
+        return response;
+    }
 
-        // Check if data is loaded
-        if (!dataStore.isDataLoaded()) {
-            ApiErrorResponse error = ApiErrorResponse.builder()
-                    .timestamp(LocalDateTime.now())
-                    .status(HttpStatus.SERVICE_UNAVAILABLE.value())
-                    .error("Data Not Ready")
-                    .message("Data is still being loaded. Please try again in a moment.")
-                    .path("/api/finance/data/" + resourceType)
-                    .build();
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    private ResponseEntity<?> serve(FinanceDataQuery query) {
+        ResponseEntity<?> invalid = financeDataService.validate(query);
+        if (invalid != null) {
+            return invalid;
         }
 
-        // Retrieve data from in-memory store (map-based lookup)
-        Object data = dataStore.getData(resourceType);
-        
-        if (data == null) {
-            ApiErrorResponse error = ApiErrorResponse.builder()
-                    .timestamp(LocalDateTime.now())
-                    .status(HttpStatus.NOT_FOUND.value())
-                    .error("Data Not Found")
-                    .message("No data available for resource type: " + resourceType)
-                    .path("/api/finance/data/" + resourceType)
-                    .build();
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        // A miss reads through to upstream, joining any fetch already in flight for the resource
+        StoredResource resource = financeDataService.getResource(query.resourceType());
+        if (resource == null) {
+            resource = refreshService.loadOnDemand(query.resourceType()).orElse(null);
         }
-
-        // Return data as array (wrapping single object in array for unified response)
-        List<Object> response = List.of(data);
-        return ResponseEntity.ok(response);
+        return financeDataService.respond(query, resource);
     }
 }
-
@@ -0,0 +1,285 @@
+package com.allobank.controller;
+
+import com.allobank.service.ConversionResult;
+import com.allobank.service.ConversionService;
+import com.allobank.service.ContentCoding;
+import com.allobank.service.CrossRateService;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.FinanceDataQuery;
+import com.allobank.service.FinanceDataService;
+import com.allobank.service.HistoricalAnalyticsService;
+import com.allobank.service.RateStreamService;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResourceResponses;
+import com.allobank.service.ResponseFormat;
+import com.allobank.service.SpreadQuoteService;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Functional handler for the finance data endpoint in the reactive serving mode.
+ * Requests run on the Netty event loop that the upstream WebClient also uses: store hits
+ * are answered without blocking, and a miss subscribes to the shared read-through fetch
+ * instead of parking a thread. Stored JSON, CBOR or Smile is written as a {@link DataBuffer}
+ * wrapping the pre-encoded bytes, so serving a resource never serializes or copies it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class FinanceDataHandler {
+
+    private final FinanceDataService financeDataService;
+    private final CrossRateService crossRateService;
+    private final SpreadQuoteService spreadQuoteService;
+    private final HistoricalAnalyticsService analyticsService;
+    private final ConversionService conversionService;
+    private final RateStreamService rateStreamService;
+    private final ResourceResponses responses;
+    private final DataRefreshService refreshService;
+    private final RequestMetrics requestMetrics;
+
+    /**
+     * Serves a stored resource, with the same query parameters and responses as
+     * {@link FinanceDataController#getFinanceData}.
+     */
+    public Mono<ServerResponse> getFinanceData(ServerRequest request) {
+        String resourceType = request.pathVariable("resourceType");
+        log.debug("Received request for resource type: {}", resourceType);
+        Timer.Sample sample = requestMetrics.startRequest();
+        return serve(request, resourceType)
+                .doOnNext(response -> requestMetrics.recordRequest(sample, resourceType, response))
+                .flatMap(response -> write(request, response));
+    }
+
+    /**
+     * Serves several resources in one response, with the same parameters and responses as
+     * {@link FinanceDataController#getFinanceDataBatch}.
+     */
+    public Mono<ServerResponse> getFinanceDataBatch(ServerRequest request) {
+        String types = request.queryParam("types").orElse(null);
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        log.debug("Received batch request for resource types: {}", types);
+        Timer.Sample sample = requestMetrics.startRequest();
+
+        List<String> resourceTypes = FinanceDataService.parseTypes(types);
+        ResponseEntity<?> invalid = financeDataService.validateBatch(resourceTypes);
+        Mono<ResponseEntity<?>> response = invalid != null
+                ? Mono.just(invalid)
+                : financeDataService.getResources(resourceTypes)
+                        .map(resources -> financeDataService.respondBatch(resourceTypes, resources, ifNoneMatch));
+        return response
+                .doOnNext(entity -> requestMetrics.recordRequest(sample, FinanceDataService.BATCH_RESOURCE_TAG,
+                        entity))
+                .flatMap(entity -> write(request, entity));
+    }
+
+    /**
+     * Serves cross rates, with the same parameters and responses as
+     * {@link CrossRateController#getCrossRates}.
+     */
+    public Mono<ServerResponse> getCrossRates(ServerRequest request) {
+        String from = request.queryParam("from").orElse(null);
+        String to = request.queryParam("to").orElse(null);
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        log.debug("Received cross-rate request from: {} to: {}", from, to);
+        Timer.Sample sample = requestMetrics.startRequest();
+
+        Mono<ResponseEntity<?>> response = from == null || from.isBlank()
+                ? Mono.just(crossRateService.respond(from, to, ifNoneMatch, null))
+                : crossRateService.getSource()
+                        .<ResponseEntity<?>>map(latest -> crossRateService.respond(from, to, ifNoneMatch, latest))
+                        .switchIfEmpty(Mono.fromSupplier(() -> crossRateService.respond(from, to, ifNoneMatch,
+                                null)));
+        return response
+                .doOnNext(entity -> requestMetrics.recordRequest(sample,
+                        CrossRateService.RESOURCE_TAG, entity))
+                .flatMap(entity -> write(request, entity));
+    }
+
+    /**
+     * Serves the spread quotes, with the same responses as {@link SpreadQuoteController#getSpreadQuotes}.
+     */
+    public Mono<ServerResponse> getSpreadQuotes(ServerRequest request) {
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        log.debug("Received spread quote request");
+        Timer.Sample sample = requestMetrics.startRequest();
+
+        return crossRateService.getSource()
+                .<ResponseEntity<?>>map(latest -> spreadQuoteService.respond(ifNoneMatch, latest))
+                .switchIfEmpty(Mono.fromSupplier(() -> spreadQuoteService.respond(ifNoneMatch, null)))
+                .doOnNext(entity -> requestMetrics.recordRequest(sample,
+                        SpreadQuoteService.RESOURCE_TAG, entity))
+                .flatMap(entity -> write(request, entity));
+    }
+
+    /**
+     * Serves range statistics, with the same parameters and responses as
+     * {@link RateStatisticsController#getStatistics}.
+     */
+    public Mono<ServerResponse> getStatistics(ServerRequest request) {
+        String currency = request.queryParam("currency").orElse(null);
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        Timer.Sample sample = requestMetrics.startRequest();
+
+        Mono<ResponseEntity<?>> response;
+        try {
+            LocalDate from = dateParam(request, "from");
+            LocalDate to = dateParam(request, "to");
+            log.debug("Received statistics request for {} from: {} to: {}", currency, from, to);
+            response = analyticsService.getSource()
+                    .<ResponseEntity<?>>map(historical -> analyticsService.respond(currency, from, to, ifNoneMatch,
+                            historical))
+                    .switchIfEmpty(Mono.fromSupplier(() -> analyticsService.respond(currency, from, to, ifNoneMatch,
+                            null)));
+        } catch (InvalidParameterException e) {
+            response = Mono.just(invalidParameter(request, e));
+        }
+        return response
+                .doOnNext(entity -> requestMetrics.recordRequest(sample,
+                        HistoricalAnalyticsService.RESOURCE_TAG, entity))
+                .flatMap(entity -> write(request, entity));
+    }
+
+    /**
+     * Converts amounts in bulk, with the same parameters and responses as
+     * {@link ConversionController#convert}. The request body is parsed as it arrives and
+     * the results are written back chunk by chunk.
+     */
+    public Mono<ServerResponse> convert(ServerRequest request) {
+        boolean spread = request.queryParam("spread").map(Boolean::parseBoolean).orElse(false);
+        Timer.Sample sample = requestMetrics.startRequest();
+
+        Mono<ResponseEntity<?>> response = conversionService.parse(request.bodyToFlux(DataBuffer.class))
+                .flatMap(batch -> crossRateService.getSource()
+                        .<ResponseEntity<?>>map(latest -> {
+                            ConversionResult result = conversionService.convert(batch, latest, spread);
+                            return ResponseEntity.ok()
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .header(ConversionService.RATES_DATE_HEADER, String.valueOf(result.ratesDate()))
+                                    .body(conversionService.encode(result));
+                        })
+                        .switchIfEmpty(Mono.fromSupplier(() -> responses.unavailable(
+                                CrossRateService.SOURCE_RESOURCE_TYPE, ConversionService.CONVERT_PATH))))
+                .onErrorResume(IOException.class, error -> {
+                    log.warn("Rejected conversion request: {}", error.getMessage());
+                    return Mono.just(ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Request Body",
+                            error.getMessage(), ConversionService.CONVERT_PATH));
+                });
+        return response
+                .doOnNext(entity -> requestMetrics.recordRequest(sample,
+                        ConversionService.RESOURCE_TAG, entity))
+                .flatMap(entity -> write(request, entity));
+    }
+
+    /**
+     * Streams rate updates, with the same events as {@link RateStreamController#streamRates}.
+     * Every subscriber is written the same pre-encoded frame of each event.
+     */
+    public Mono<ServerResponse> streamRates(ServerRequest request) {
+        String lastEventId = request.headers().firstHeader(RateStreamController.LAST_EVENT_ID);
+        log.debug("Opening rate update stream after event: {}", lastEventId);
+        DataBufferFactory bufferFactory = request.exchange().getResponse().bufferFactory();
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(BodyInserters.fromDataBuffers(rateStreamService.subscribe(lastEventId)
+                        .map(event -> bufferFactory.wrap(event.frame()))));
+    }
+
+    private Mono<ResponseEntity<?>> serve(ServerRequest request, String resourceType) {
+        FinanceDataQuery query;
+        try {
+            query = new FinanceDataQuery(resourceType,
+                    dateParam(request, "from"),
+                    dateParam(request, "to"),
+                    dateParam(request, "date"),
+                    request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH),
+                    ResponseFormat.negotiate(String.join(",", request.headers().header(HttpHeaders.ACCEPT))),
+                    ContentCoding.negotiate(String.join(",",
+                            request.headers().header(HttpHeaders.ACCEPT_ENCODING))));
+        } catch (InvalidParameterException e) {
+            return Mono.just(invalidParameter(request, e));
+        }
+
+        ResponseEntity<?> invalid = financeDataService.validate(query);
+        if (invalid != null) {
+            return Mono.just(invalid);
+        }
+
+        // A miss reads through to upstream, joining any fetch already in flight for the resource
+        return Mono.justOrEmpty(financeDataService.getResource(resourceType))
+                .switchIfEmpty(Mono.defer(() -> refreshService.fetchOnDemand(resourceType)))
+                .<ResponseEntity<?>>map(resource -> financeDataService.respond(query, resource))
+                .switchIfEmpty(Mono.fromSupplier(() -> financeDataService.respond(query, null)));
+    }
+
+    private static Mono<ServerResponse> write(ServerRequest request, ResponseEntity<?> response) {
+        ServerResponse.BodyBuilder builder = ServerResponse.status(response.getStatusCode())
+                .headers(headers -> headers.addAll(response.getHeaders()));
+        Object body = response.getBody();
+        if (body == null) {
+            return builder.build();
+        }
+        if (response.getHeaders().getContentType() == null) {
+            builder.contentType(MediaType.APPLICATION_JSON);
+        }
+        DataBufferFactory bufferFactory = request.exchange().getResponse().bufferFactory();
+        if (body instanceof byte[] bytes) {
+            return builder.body(BodyInserters.fromDataBuffers(Mono.just(bufferFactory.wrap(bytes))));
+        }
+        if (body instanceof Flux<?> chunks) {
+            return builder.body(BodyInserters.fromDataBuffers(chunks.cast(byte[].class).map(bufferFactory::wrap)));
+        }
+        return builder.bodyValue(body);
+    }
+
+    private static ResponseEntity<?> invalidParameter(ServerRequest request, InvalidParameterException e) {
+        log.warn("Invalid value for parameter '{}': {}", e.name, e.value);
+        return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Parameter",
+                "Invalid value for parameter '" + e.name + "': " + e.value, request.path());
+    }
+
+    private static LocalDate dateParam(ServerRequest request, String name) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidParameterException(name, value);
+        }
+    }
+
+    private static final class InvalidParameterException extends RuntimeException {
+
+        private final String name;
+        private final String value;
+
+        private InvalidParameterException(String name, String value) {
+            super(null, null, false, false);
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
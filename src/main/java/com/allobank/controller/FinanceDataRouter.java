@@ -0,0 +1,37 @@
+package com.allobank.controller;
+
+import com.allobank.service.ConversionService;
+import com.allobank.service.CrossRateService;
+import com.allobank.service.FinanceDataService;
+import com.allobank.service.HistoricalAnalyticsService;
+import com.allobank.service.RateStreamService;
+import com.allobank.service.SpreadQuoteService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+
+/**
+ * Routes for the reactive serving mode, enabled with the {@code reactive} profile
+ * ({@code spring.main.web-application-type=reactive}).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class FinanceDataRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> financeDataRoutes(FinanceDataHandler handler) {
+        return RouterFunctions.route(GET(FinanceDataService.BASE_PATH), handler::getFinanceDataBatch)
+                .andRoute(GET(FinanceDataService.BASE_PATH + "/{resourceType}"), handler::getFinanceData)
+                .andRoute(GET(CrossRateService.CROSS_RATES_PATH), handler::getCrossRates)
+                .andRoute(GET(SpreadQuoteService.SPREAD_QUOTES_PATH), handler::getSpreadQuotes)
+                .andRoute(GET(HistoricalAnalyticsService.STATISTICS_PATH), handler::getStatistics)
+                .andRoute(GET(RateStreamService.STREAM_PATH), handler::streamRates)
+                .andRoute(POST(ConversionService.CONVERT_PATH), handler::convert);
+    }
+}
@@ -0,0 +1,50 @@
+package com.allobank.controller;
+
+import com.allobank.service.HistoricalAnalyticsService;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.StoredResource;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for min/max/mean/stddev/return statistics of a currency over any date range
+ * of the historical series, answered from aggregates precomputed when the series is loaded.
+ * Active in the default servlet mode; the reactive mode is served by {@link FinanceDataHandler}.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateStatisticsController {
+
+    private final HistoricalAnalyticsService analyticsService;
+    private final RequestMetrics requestMetrics;
+
+    /**
+     * Summarizes the rates of {@code currency} within {@code [from, to]}; either bound may be omitted.
+     */
+    @GetMapping(HistoricalAnalyticsService.STATISTICS_PATH)
+    public ResponseEntity<?> getStatistics(
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Received statistics request for {} from: {} to: {}", currency, from, to);
+        Timer.Sample sample = requestMetrics.startRequest();
+        StoredResource historical = analyticsService.getSource().block();
+        ResponseEntity<?> response = analyticsService.respond(currency, from, to, ifNoneMatch, historical);
+        requestMetrics.recordRequest(sample, HistoricalAnalyticsService.RESOURCE_TAG, response);
+        return response;
+    }
+}
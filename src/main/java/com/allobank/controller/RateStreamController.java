@@ -0,0 +1,46 @@
+package com.allobank.controller;
+
+import com.allobank.service.RateStreamService;
+import com.allobank.service.RateUpdateEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * REST Controller streaming the latest IDR rates as Server-Sent Events, one event per published change.
+ * Active in the default servlet mode; the reactive mode is served by {@link FinanceDataHandler},
+ * which writes the pre-encoded frames directly.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateStreamController {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final RateStreamService rateStreamService;
+
+    @GetMapping(value = RateStreamService.STREAM_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamRates(
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        log.debug("Opening rate update stream after event: {}", lastEventId);
+        return rateStreamService.subscribe(lastEventId).map(RateStreamController::toServerSentEvent);
+    }
+
+    private static ServerSentEvent<String> toServerSentEvent(RateUpdateEvent event) {
+        if (event.isHeartbeat()) {
+            return ServerSentEvent.<String>builder().comment("").build();
+        }
+        return ServerSentEvent.builder(event.json())
+                .id(event.id())
+                .event(RateUpdateEvent.EVENT_NAME)
+                .build();
+    }
+}
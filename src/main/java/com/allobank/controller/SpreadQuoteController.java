@@ -0,0 +1,42 @@
+package com.allobank.controller;
+
+import com.allobank.service.CrossRateService;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.SpreadQuoteService;
+import com.allobank.service.StoredResource;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the buy and sell spread quotes of every currency of the latest IDR rates,
+ * served from the quotes precomputed once per refresh.
+ * Active in the default servlet mode; the reactive mode is served by {@link FinanceDataHandler}.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SpreadQuoteController {
+
+    private final CrossRateService crossRateService;
+    private final SpreadQuoteService spreadQuoteService;
+    private final RequestMetrics requestMetrics;
+
+    @GetMapping(SpreadQuoteService.SPREAD_QUOTES_PATH)
+    public ResponseEntity<?> getSpreadQuotes(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Received spread quote request");
+        Timer.Sample sample = requestMetrics.startRequest();
+        StoredResource latest = crossRateService.getSource().block();
+        ResponseEntity<?> response = spreadQuoteService.respond(ifNoneMatch, latest);
+        requestMetrics.recordRequest(sample, SpreadQuoteService.RESOURCE_TAG, response);
+        return response;
+    }
+}
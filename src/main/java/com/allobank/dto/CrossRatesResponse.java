@@ -0,0 +1,19 @@
+package com.allobank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrossRatesResponse {
+    private String base;
+    private LocalDate date;
+    private Map<String, Double> rates;
+}
@@ -0,0 +1,33 @@
+package com.allobank.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateStatisticsResponse {
+    private String base;
+    private String currency;
+
+    @JsonProperty("start_date")
+    private LocalDate startDate;
+
+    @JsonProperty("end_date")
+    private LocalDate endDate;
+
+    private int count;
+    private double min;
+    private double max;
+    private double mean;
+    private double stddev;
+
+    @JsonProperty("return")
+    private double periodReturn;
+}
@@ -1,25 +1,69 @@
 package com.allobank.factory;
 
 import com.allobank.config.FrankfurterApiProperties;
+import io.netty.channel.ChannelOption;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+/**
+ * Builds the Frankfurter {@link WebClient} on a dedicated Reactor Netty connection pool.
+ * Connections are kept alive and reused across refreshes and backfill windows; the pool
+ * bounds concurrency and queued acquisitions, evicts idle connections, and applies the
+ * configured connect and response timeouts. The pool is released when the context closes.
+ */
+@Slf4j
 @RequiredArgsConstructor
-public class WebClientFactoryBean implements FactoryBean<WebClient> {
+public class WebClientFactoryBean implements FactoryBean<WebClient>, DisposableBean {
+
+    private static final String POOL_NAME = "frankfurter";
 
     private final FrankfurterApiProperties apiProperties;
 
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
     @Override
-    public WebClient getObject() {
-        return WebClient.builder()
-                .baseUrl(apiProperties.getBaseUrl())
-                .codecs(configurer -> configurer
-                        .defaultCodecs()
-                        .maxInMemorySize(16 * 1024 * 1024)) // 16MB
+    public synchronized WebClient getObject() {
+        if (webClient == null) {
+            connectionProvider = createConnectionProvider(apiProperties.getPool());
+            webClient = WebClient.builder()
+                    .baseUrl(apiProperties.getBaseUrl())
+                    .clientConnector(new ReactorClientHttpConnector(createHttpClient(connectionProvider)))
+                    .codecs(configurer -> configurer
+                            .defaultCodecs()
+                            .maxInMemorySize(16 * 1024 * 1024)) // 16MB
+                    .build();
+        }
+        return webClient;
+    }
+
+    private ConnectionProvider createConnectionProvider(FrankfurterApiProperties.Pool pool) {
+        log.debug("Creating connection pool '{}' with {} max connections", POOL_NAME, pool.getMaxConnections());
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(pool.isMetricsEnabled())
                 .build();
     }
 
+    private HttpClient createHttpClient(ConnectionProvider provider) {
+        return HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(apiProperties.getConnectTimeout().toMillis()))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(apiProperties.getReadTimeout())
+                .compress(apiProperties.isCompression());
+    }
+
     @Override
     public Class<?> getObjectType() {
         return WebClient.class;
@@ -29,5 +73,11 @@ public class WebClientFactoryBean implements FactoryBean<WebClient> {
     public boolean isSingleton() {
         return true;
     }
-}
 
+    @Override
+    public synchronized void destroy() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+}
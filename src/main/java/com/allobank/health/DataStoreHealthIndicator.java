@@ -0,0 +1,56 @@
+package com.allobank.health;
+
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.StoredResource;
+import com.allobank.strategy.IDRDataFetcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reports which resources are live in the {@link InMemoryDataStore}.
+ * Part of the readiness group only: the instance can take traffic as soon as any
+ * resource is servable, while a restart would not fix a missing upstream resource,
+ * so liveness does not depend on it.
+ * Each resource is reported as READY, LOADING (initial fetch still running)
+ * or UNAVAILABLE (initial fetch failed, waiting for the next refresh).
+ */
+@Component
+@RequiredArgsConstructor
+public class DataStoreHealthIndicator implements HealthIndicator {
+
+    private final List<IDRDataFetcher> dataFetchers;
+    private final InMemoryDataStore dataStore;
+
+    @Override
+    public Health health() {
+        Map<String, StoredResource> stored = dataStore.getResources().stream()
+                .collect(Collectors.toMap(StoredResource::getResourceType, Function.identity()));
+
+        Map<String, Object> resources = new LinkedHashMap<>();
+        int readyCount = 0;
+        for (IDRDataFetcher fetcher : dataFetchers) {
+            String resourceType = fetcher.getResourceType();
+            StoredResource resource = stored.get(resourceType);
+            if (resource != null) {
+                readyCount++;
+                resources.put(resourceType, Map.of("status", "READY", "storedAt", resource.getStoredAt()));
+            } else {
+                resources.put(resourceType, Map.of("status", dataStore.isDataLoaded() ? "UNAVAILABLE" : "LOADING"));
+            }
+        }
+
+        Health.Builder health = readyCount > 0 ? Health.up() : Health.outOfService();
+        return health
+                .withDetail("ready", readyCount + "/" + dataFetchers.size())
+                .withDetail("resources", resources)
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.allobank.model;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Column-oriented list of {@code {from, to, amount}} conversion requests. Currency codes and
+ * amounts are held in parallel arrays so a batch can be evaluated in one loop.
+ */
+public final class ConversionBatch {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private String[] from = new String[INITIAL_CAPACITY];
+    private String[] to = new String[INITIAL_CAPACITY];
+    private BigDecimal[] amounts = new BigDecimal[INITIAL_CAPACITY];
+    private int size;
+
+    public void add(String fromCurrency, String toCurrency, BigDecimal amount) {
+        if (size == amounts.length) {
+            int capacity = size * 2;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+        from[size] = fromCurrency;
+        to[size] = toCurrency;
+        amounts[size] = amount;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getFrom(int index) {
+        return from[index];
+    }
+
+    public String getTo(int index) {
+        return to[index];
+    }
+
+    public BigDecimal getAmount(int index) {
+        return amounts[index];
+    }
+}
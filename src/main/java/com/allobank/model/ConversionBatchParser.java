@@ -0,0 +1,191 @@
+package com.allobank.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Token-by-token parser for a JSON array of {@code {"from", "to", "amount"}} objects.
+ * Entries are appended straight to a {@link ConversionBatch} without binding request objects;
+ * amounts are read as exact decimals.
+ * Supports incremental (non-blocking) input via {@link #feed(ByteBuffer)} as well as parsing
+ * from an ordinary blocking {@link JsonParser}.
+ * Instances are not thread-safe and parse a single document.
+ */
+public class ConversionBatchParser implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamReadFeature.USE_FAST_BIG_NUMBER_PARSER)
+            .build();
+
+    private final ConversionBatch batch = new ConversionBatch();
+    private final JsonParser asyncParser;
+    private final int maxItems;
+
+    private int depth;
+    private boolean started;
+    private String field;
+    private String from;
+    private String to;
+    private BigDecimal amount;
+
+    private ConversionBatchParser(JsonParser asyncParser, int maxItems) {
+        this.asyncParser = asyncParser;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Creates a parser that accepts the document in chunks through {@link #feed(ByteBuffer)}.
+     *
+     * @param maxItems Largest number of conversions accepted in one document
+     */
+    public static ConversionBatchParser nonBlocking(int maxItems) throws IOException {
+        return new ConversionBatchParser(JSON_FACTORY.createNonBlockingByteBufferParser(), maxItems);
+    }
+
+    /**
+     * Parses a whole document from a blocking parser.
+     *
+     * @param maxItems Largest number of conversions accepted in one document
+     */
+    public static ConversionBatch parse(JsonParser parser, int maxItems) throws IOException {
+        ConversionBatchParser batchParser = new ConversionBatchParser(null, maxItems);
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            batchParser.handle(parser, token);
+        }
+        return batchParser.complete();
+    }
+
+    /**
+     * Parses a whole document from a stream.
+     *
+     * @param maxItems Largest number of conversions accepted in one document
+     */
+    public static ConversionBatch parse(InputStream input, int maxItems) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(input)) {
+            return parse(parser, maxItems);
+        }
+    }
+
+    /**
+     * Consumes the next chunk of the document. The buffer is fully consumed before returning,
+     * so the caller may release it afterwards.
+     */
+    public void feed(ByteBuffer chunk) throws IOException {
+        ((ByteBufferFeeder) asyncParser.getNonBlockingInputFeeder()).feedInput(chunk);
+        drain();
+    }
+
+    /**
+     * Signals the end of the document and returns the parsed batch.
+     */
+    public ConversionBatch finish() throws IOException {
+        asyncParser.getNonBlockingInputFeeder().endOfInput();
+        drain();
+        return complete();
+    }
+
+    @Override
+    public void close() {
+        if (asyncParser == null) {
+            return;
+        }
+        try {
+            asyncParser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = asyncParser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            handle(asyncParser, token);
+        }
+    }
+
+    private ConversionBatch complete() throws IOException {
+        if (!started || depth != 0) {
+            throw new IOException("Expected a JSON array of conversions");
+        }
+        return batch;
+    }
+
+    /**
+     * Depth 1 is the top-level array, depth 2 the fields of one conversion.
+     */
+    private void handle(JsonParser parser, JsonToken token) throws IOException {
+        if (depth == 0 && (started || token != JsonToken.START_ARRAY)) {
+            throw new IOException("Expected a JSON array of conversions");
+        }
+        switch (token) {
+            case START_ARRAY -> {
+                if (depth != 0) {
+                    throw new IOException("Unexpected array in conversion " + batch.size());
+                }
+                started = true;
+                depth++;
+            }
+            case START_OBJECT -> {
+                if (depth != 1) {
+                    throw new IOException("Unexpected object in conversion " + batch.size());
+                }
+                depth++;
+                from = null;
+                to = null;
+                amount = null;
+            }
+            case END_OBJECT -> {
+                depth--;
+                addConversion();
+            }
+            case END_ARRAY -> depth--;
+            case FIELD_NAME -> field = parser.currentName();
+            case VALUE_STRING -> onString(parser.getText());
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> onNumber(parser);
+            default -> throw new IOException("Unexpected value in conversion " + batch.size());
+        }
+    }
+
+    private void onString(String value) throws IOException {
+        if (depth != 2) {
+            throw new IOException("Expected an object for conversion " + batch.size());
+        }
+        switch (field) {
+            case "from" -> from = value.trim().toUpperCase(Locale.ROOT);
+            case "to" -> to = value.trim().toUpperCase(Locale.ROOT);
+            default -> {
+                // Unknown fields are ignored
+            }
+        }
+    }
+
+    private void onNumber(JsonParser parser) throws IOException {
+        if (depth != 2) {
+            throw new IOException("Expected an object for conversion " + batch.size());
+        }
+        if ("amount".equals(field)) {
+            amount = parser.getDecimalValue();
+        }
+    }
+
+    private void addConversion() throws IOException {
+        if (from == null || to == null || amount == null) {
+            throw new IOException("Conversion " + batch.size() + " needs 'from', 'to' and an 'amount'");
+        }
+        if (batch.size() == maxItems) {
+            throw new IOException("Too many conversions in one request (maximum " + maxItems + ")");
+        }
+        batch.add(from, to, amount);
+    }
+}
@@ -0,0 +1,118 @@
+package com.allobank.model;
+
+import com.allobank.dto.LatestRatesResponse;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense N×N matrix of cross rates between every currency of a latest-rates snapshot,
+ * derived from its IDR-base rates. Rates live in one row-major {@code double[]} indexed by
+ * currency ordinal, so any pair is answered in constant time without an upstream call.
+ * The cell for ({@code from}, {@code to}) holds the units of {@code to} per unit of {@code from}.
+ * The decimal base rates are kept as well, for callers that need exact cross rates.
+ */
+public final class CrossRateMatrix {
+
+    @Getter
+    private final String base;
+
+    @Getter
+    private final LocalDate date;
+
+    private final String[] currencies;
+    private final Map<String, Integer> ordinals;
+    private final BigDecimal[] decimalBaseRates;
+    private final double[] rates;
+
+    private CrossRateMatrix(String base, LocalDate date, String[] currencies, BigDecimal[] decimalBaseRates) {
+        this.base = base;
+        this.date = date;
+        this.currencies = currencies;
+        this.ordinals = new HashMap<>(currencies.length * 2);
+        for (int i = 0; i < currencies.length; i++) {
+            ordinals.put(currencies[i], i);
+        }
+        this.decimalBaseRates = decimalBaseRates;
+
+        int n = currencies.length;
+        this.rates = new double[n * n];
+        for (int from = 0; from < n; from++) {
+            double fromRate = decimalBaseRates[from].doubleValue();
+            for (int to = 0; to < n; to++) {
+                rates[from * n + to] = from == to ? 1.0 : decimalBaseRates[to].doubleValue() / fromRate;
+            }
+        }
+    }
+
+    /**
+     * Builds the matrix from rates quoted per unit of the response's base currency, which is
+     * included with a rate of 1. Currencies without a positive rate are left out.
+     */
+    public static CrossRateMatrix from(LatestRatesResponse latest) {
+        BigDecimal amount = latest.getAmount() != null && latest.getAmount().signum() > 0
+                ? latest.getAmount()
+                : BigDecimal.ONE;
+
+        List<String> currencies = new ArrayList<>();
+        currencies.add(latest.getBase());
+        if (latest.getRates() != null) {
+            latest.getRates().forEach((currency, rate) -> {
+                if (rate != null && rate.signum() > 0 && !currency.equals(latest.getBase())) {
+                    currencies.add(currency);
+                }
+            });
+        }
+        String[] sorted = currencies.toArray(String[]::new);
+        Arrays.sort(sorted);
+
+        BigDecimal[] baseRates = new BigDecimal[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            baseRates[i] = sorted[i].equals(latest.getBase())
+                    ? BigDecimal.ONE
+                    : latest.getRates().get(sorted[i]).divide(amount, MathContext.DECIMAL128);
+        }
+        return new CrossRateMatrix(latest.getBase(), latest.getDate(), sorted, baseRates);
+    }
+
+    public int size() {
+        return currencies.length;
+    }
+
+    /**
+     * @return The ordinal of the currency, or -1 if the matrix does not cover it
+     */
+    public int ordinal(String currency) {
+        Integer ordinal = ordinals.get(currency);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public String currency(int ordinal) {
+        return currencies[ordinal];
+    }
+
+    /**
+     * @return Units of the {@code to} currency per unit of the {@code from} currency
+     */
+    public double rate(int from, int to) {
+        return rates[from * currencies.length + to];
+    }
+
+    /**
+     * @return Units of the {@code to} currency per unit of the {@code from} currency, computed from
+     * the decimal base rates and rounded to the given precision; exactly 1 for the same currency
+     */
+    public BigDecimal decimalRate(int from, int to, MathContext mathContext) {
+        if (from == to) {
+            return BigDecimal.ONE;
+        }
+        return decimalBaseRates[to].divide(decimalBaseRates[from], mathContext);
+    }
+}
@@ -0,0 +1,215 @@
+package com.allobank.model;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Range statistics over a {@link HistoricalRateSeries}, precomputed once per series so that
+ * any date range is answered without scanning it. Per currency, prefix counts, sums and sums
+ * of squares give the mean and standard deviation in constant time, sparse tables give the
+ * minimum and maximum in constant time, and next/previous rate indexes give the first and
+ * last rate for the change. Locating the range's rows is a binary search over the dates.
+ */
+public final class HistoricalRateAnalytics {
+
+    @Getter
+    private final String base;
+
+    private final int[] epochDays;
+    private final String[] currencies;
+    private final Column[] columns;
+
+    private HistoricalRateAnalytics(String base, int[] epochDays, String[] currencies, Column[] columns) {
+        this.base = base;
+        this.epochDays = epochDays;
+        this.currencies = currencies;
+        this.columns = columns;
+    }
+
+    public static HistoricalRateAnalytics from(HistoricalRateSeries series) {
+        int rows = series.size();
+        int[] epochDays = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            epochDays[row] = series.getEpochDay(row);
+        }
+
+        String[] currencies = new String[series.getCurrencyCount()];
+        Column[] columns = new Column[currencies.length];
+        for (int column = 0; column < currencies.length; column++) {
+            currencies[column] = series.getCurrency(column);
+            double[] values = new double[rows];
+            for (int row = 0; row < rows; row++) {
+                values[row] = series.hasRate(column, row) ? series.getRateValue(column, row) : Double.NaN;
+            }
+            columns[column] = new Column(values);
+        }
+        return new HistoricalRateAnalytics(series.getBase(), epochDays, currencies, columns);
+    }
+
+    /**
+     * @return The column index of the currency, or -1 if it is not part of the series
+     */
+    public int currencyIndex(String currency) {
+        int index = Arrays.binarySearch(currencies, currency);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Summarizes one currency's rates within {@code [from, to]}.
+     *
+     * @param column The column index of the currency
+     * @param from Inclusive lower bound, or null for the start of the series
+     * @param to Inclusive upper bound, or null for the end of the series
+     * @return The statistics, or null if the currency has no rate within the range
+     */
+    public RangeStatistics statistics(int column, LocalDate from, LocalDate to) {
+        int fromRow = from != null ? ceilingRow((int) from.toEpochDay()) : 0;
+        int toRow = to != null ? floorRow((int) to.toEpochDay()) : epochDays.length - 1;
+        if (fromRow > toRow) {
+            return null;
+        }
+
+        Column data = columns[column];
+        int first = data.next[fromRow];
+        int last = data.previous[toRow];
+        if (first > last) {
+            return null;
+        }
+
+        int count = data.count[toRow + 1] - data.count[fromRow];
+        double sum = data.sum[toRow + 1] - data.sum[fromRow];
+        double sumOfSquares = data.sumOfSquares[toRow + 1] - data.sumOfSquares[fromRow];
+        double shiftedMean = sum / count;
+        double variance = Math.max(0, sumOfSquares / count - shiftedMean * shiftedMean);
+
+        return new RangeStatistics(
+                LocalDate.ofEpochDay(epochDays[first]),
+                LocalDate.ofEpochDay(epochDays[last]),
+                count,
+                data.min(fromRow, toRow),
+                data.max(fromRow, toRow),
+                data.shift + shiftedMean,
+                Math.sqrt(variance),
+                data.values[last] / data.values[first] - 1);
+    }
+
+    /**
+     * @return Index of the last date on or before the epoch day, or -1 if there is none
+     */
+    private int floorRow(int epochDay) {
+        int index = Arrays.binarySearch(epochDays, epochDay);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * @return Index of the first date on or after the epoch day, or the size if there is none
+     */
+    private int ceilingRow(int epochDay) {
+        int index = Arrays.binarySearch(epochDays, epochDay);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Aggregates of one currency; rows without a rate hold NaN in {@code values}.
+     */
+    private static final class Column {
+
+        private final double[] values;
+
+        /**
+         * Sums are taken relative to the first rate, so the variance does not cancel away.
+         */
+        private final double shift;
+
+        /**
+         * Prefix aggregates: entry {@code i} covers rows {@code [0, i)}.
+         */
+        private final int[] count;
+        private final double[] sum;
+        private final double[] sumOfSquares;
+
+        /**
+         * Sparse tables: entry {@code [k][i]} covers rows {@code [i, i + 2^k)}.
+         */
+        private final double[][] minimums;
+        private final double[][] maximums;
+
+        /**
+         * For each row, the first row at or after it and the last row at or before it that has a rate.
+         */
+        private final int[] next;
+        private final int[] previous;
+
+        private Column(double[] values) {
+            int rows = values.length;
+            this.values = values;
+
+            int firstRow = 0;
+            while (firstRow < rows && Double.isNaN(values[firstRow])) {
+                firstRow++;
+            }
+            this.shift = firstRow < rows ? values[firstRow] : 0;
+
+            this.count = new int[rows + 1];
+            this.sum = new double[rows + 1];
+            this.sumOfSquares = new double[rows + 1];
+            for (int row = 0; row < rows; row++) {
+                boolean present = !Double.isNaN(values[row]);
+                double shifted = present ? values[row] - shift : 0;
+                count[row + 1] = count[row] + (present ? 1 : 0);
+                sum[row + 1] = sum[row] + shifted;
+                sumOfSquares[row + 1] = sumOfSquares[row] + shifted * shifted;
+            }
+
+            int levels = rows > 0 ? 32 - Integer.numberOfLeadingZeros(rows) : 1;
+            this.minimums = new double[levels][];
+            this.maximums = new double[levels][];
+            minimums[0] = new double[rows];
+            maximums[0] = new double[rows];
+            for (int row = 0; row < rows; row++) {
+                boolean present = !Double.isNaN(values[row]);
+                minimums[0][row] = present ? values[row] : Double.POSITIVE_INFINITY;
+                maximums[0][row] = present ? values[row] : Double.NEGATIVE_INFINITY;
+            }
+            for (int level = 1; level < levels; level++) {
+                int half = 1 << (level - 1);
+                int length = rows - (1 << level) + 1;
+                minimums[level] = new double[length];
+                maximums[level] = new double[length];
+                for (int row = 0; row < length; row++) {
+                    minimums[level][row] = Math.min(minimums[level - 1][row], minimums[level - 1][row + half]);
+                    maximums[level][row] = Math.max(maximums[level - 1][row], maximums[level - 1][row + half]);
+                }
+            }
+
+            this.next = new int[rows];
+            this.previous = new int[rows];
+            int following = rows;
+            for (int row = rows - 1; row >= 0; row--) {
+                if (!Double.isNaN(values[row])) {
+                    following = row;
+                }
+                next[row] = following;
+            }
+            int preceding = -1;
+            for (int row = 0; row < rows; row++) {
+                if (!Double.isNaN(values[row])) {
+                    preceding = row;
+                }
+                previous[row] = preceding;
+            }
+        }
+
+        private double min(int fromRow, int toRow) {
+            int level = 31 - Integer.numberOfLeadingZeros(toRow - fromRow + 1);
+            return Math.min(minimums[level][fromRow], minimums[level][toRow - (1 << level) + 1]);
+        }
+
+        private double max(int fromRow, int toRow) {
+            int level = 31 - Integer.numberOfLeadingZeros(toRow - fromRow + 1);
+            return Math.max(maximums[level][fromRow], maximums[level][toRow - (1 << level) + 1]);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.allobank.model;
+
+import com.allobank.dto.HistoricalRatesResponse;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar, primitive-backed representation of a historical rate series.
+ * Dates are held as a sorted {@code int[]} of epoch days and every currency has its own
+ * fixed-point {@code long[]} column, so a data point costs 8 bytes instead of the boxed
+ * map nodes of {@link HistoricalRatesResponse}. Serializes to the same JSON shape.
+ */
+@Getter
+@EqualsAndHashCode
+@JsonSerialize(using = HistoricalRateSeriesSerializer.class)
+@JsonDeserialize(using = HistoricalRateSeriesDeserializer.class)
+public final class HistoricalRateSeries {
+
+    /**
+     * Marker for a date on which a currency has no published rate.
+     */
+    static final long MISSING = Long.MIN_VALUE;
+
+    private static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final BigDecimal amount;
+    private final String base;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] epochDays;
+
+    @Getter(AccessLevel.NONE)
+    private final String[] currencies;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] scales;
+
+    @Getter(AccessLevel.NONE)
+    private final long[][] values;
+
+    private HistoricalRateSeries(BigDecimal amount, String base, LocalDate startDate, LocalDate endDate,
+                                 int[] epochDays, String[] currencies, int[] scales, long[][] values) {
+        this.amount = amount;
+        this.base = base;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.epochDays = epochDays;
+        this.currencies = currencies;
+        this.scales = scales;
+        this.values = values;
+    }
+
+    /**
+     * Converts the map-based upstream response into the columnar representation.
+     *
+     * @param response The deserialized Frankfurter response
+     * @return The columnar series
+     */
+    public static HistoricalRateSeries from(HistoricalRatesResponse response) {
+        Builder builder = builder()
+                .amount(response.getAmount())
+                .base(response.getBase())
+                .startDate(response.getStartDate())
+                .endDate(response.getEndDate());
+
+        if (response.getRates() != null) {
+            builder.addRates(response.getRates());
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The number of dates in the series
+     */
+    public int size() {
+        return epochDays.length;
+    }
+
+    public LocalDate getDate(int row) {
+        return LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    /**
+     * @return The currency codes of all columns, in column order
+     */
+    public List<String> getCurrencies() {
+        return List.of(currencies);
+    }
+
+    public int getCurrencyCount() {
+        return currencies.length;
+    }
+
+    public String getCurrency(int column) {
+        return currencies[column];
+    }
+
+    /**
+     * @return The column index of the currency, or -1 if it is not part of the series
+     */
+    public int currencyIndex(String currency) {
+        int index = Arrays.binarySearch(currencies, currency);
+        return index >= 0 ? index : -1;
+    }
+
+    public boolean hasRate(int column, int row) {
+        return values[column][row] != MISSING;
+    }
+
+    /**
+     * Materializes a single data point.
+     *
+     * @return The rate, or null if the currency has no rate on that date
+     */
+    public BigDecimal getRate(int column, int row) {
+        long unscaled = values[column][row];
+        if (unscaled == MISSING) {
+            return null;
+        }
+        BigDecimal rate = BigDecimal.valueOf(unscaled, scales[column]).stripTrailingZeros();
+        return rate.scale() < 0 ? rate.setScale(0) : rate;
+    }
+
+    int getEpochDay(int row) {
+        return epochDays[row];
+    }
+
+    /**
+     * The rate as a double, for analytics; the caller checks
+     * {@link #hasRate} first.
+     */
+    double getRateValue(int column, int row) {
+        return values[column][row] / (double) POWERS_OF_TEN[scales[column]];
+    }
+
+    /**
+     * Materializes the dates within {@code [from, to]}, located by binary search.
+     * Only the requested rows are copied; the start and end dates of the result
+     * are the first and last dates actually present.
+     *
+     * @param from Inclusive lower bound, or null for the start of the series
+     * @param to Inclusive upper bound, or null for the end of the series
+     * @return A new series holding only the requested slice
+     */
+    public HistoricalRateSeries slice(LocalDate from, LocalDate to) {
+        int fromRow = from != null ? ceilingRow((int) from.toEpochDay()) : 0;
+        int toRow = to != null ? floorRow((int) to.toEpochDay()) + 1 : epochDays.length;
+        if (toRow <= fromRow) {
+            return copyRows(0, 0, from, to);
+        }
+        return copyRows(fromRow, toRow, getDate(fromRow), getDate(toRow - 1));
+    }
+
+    /**
+     * Point-in-time lookup: the rates in effect on the given date, i.e. those of the
+     * latest date on or before it (rates are not published on weekends and holidays).
+     *
+     * @param date The date to look up
+     * @return A single-date series, or null if the series has no date on or before it
+     */
+    public HistoricalRateSeries asOf(LocalDate date) {
+        int row = floorRow((int) date.toEpochDay());
+        if (row < 0) {
+            return null;
+        }
+        return copyRows(row, row + 1, getDate(row), getDate(row));
+    }
+
+    /**
+     * @return Index of the last date on or before the epoch day, or -1 if there is none
+     */
+    private int floorRow(int epochDay) {
+        int index = Arrays.binarySearch(epochDays, epochDay);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * @return Index of the first date on or after the epoch day, or the size if there is none
+     */
+    private int ceilingRow(int epochDay) {
+        int index = Arrays.binarySearch(epochDays, epochDay);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private HistoricalRateSeries copyRows(int fromRow, int toRow, LocalDate startDate, LocalDate endDate) {
+        long[][] slicedValues = new long[values.length][];
+        for (int column = 0; column < values.length; column++) {
+            slicedValues[column] = Arrays.copyOfRange(values[column], fromRow, toRow);
+        }
+        return new HistoricalRateSeries(amount, base, startDate, endDate,
+                Arrays.copyOfRange(epochDays, fromRow, toRow), currencies, scales, slicedValues);
+    }
+
+    /**
+     * Incrementally assembles a series from data points in any order.
+     * Points for the same date and currency overwrite earlier ones.
+     */
+    public static final class Builder {
+
+        private BigDecimal amount;
+        private String base;
+        private LocalDate startDate;
+        private LocalDate endDate;
+
+        private int[] days = new int[16];
+        private int rowCount;
+        private boolean sorted = true;
+
+        private String[] columnCurrencies = new String[4];
+        private int[] columnScales = new int[4];
+        private long[][] columns = new long[4][];
+        private int columnCount;
+
+        private Builder() {
+        }
+
+        public Builder amount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public Builder base(String base) {
+            this.base = base;
+            return this;
+        }
+
+        public Builder startDate(LocalDate startDate) {
+            this.startDate = startDate;
+            return this;
+        }
+
+        public Builder endDate(LocalDate endDate) {
+            this.endDate = endDate;
+            return this;
+        }
+
+        public LocalDate getStartDate() {
+            return startDate;
+        }
+
+        public Builder addRates(Map<LocalDate, Map<String, BigDecimal>> rates) {
+            rates.forEach((date, dayRates) ->
+                    dayRates.forEach((currency, rate) -> addRate(date, currency, rate)));
+            return this;
+        }
+
+        public Builder addRate(LocalDate date, String currency, BigDecimal rate) {
+            return addRate((int) date.toEpochDay(), currency, rate);
+        }
+
+        public Builder addRate(int epochDay, String currency, BigDecimal rate) {
+            if (currency == null || rate == null) {
+                throw new IllegalArgumentException("Currency and rate are required for epoch day " + epochDay);
+            }
+            BigDecimal normalized = rate.stripTrailingZeros();
+            if (normalized.scale() < 0) {
+                normalized = normalized.setScale(0);
+            }
+            if (normalized.scale() > MAX_SCALE || normalized.unscaledValue().bitLength() > 63) {
+                throw new IllegalArgumentException("Rate " + rate + " for " + currency
+                        + " exceeds the supported fixed-point precision");
+            }
+            return addRate(epochDay, currency, normalized.unscaledValue().longValue(), normalized.scale());
+        }
+
+        /**
+         * Allocation-free variant used by streaming ingestion: the rate is {@code unscaled * 10^-scale}.
+         */
+        public Builder addRate(int epochDay, String currency, long unscaled, int scale) {
+            if (currency == null) {
+                throw new IllegalArgumentException("Currency is required for epoch day " + epochDay);
+            }
+            while (scale > 0 && unscaled % 10 == 0) {
+                unscaled /= 10;
+                scale--;
+            }
+            if (scale < 0) {
+                unscaled = Math.multiplyExact(unscaled, powerOfTen(-scale));
+                scale = 0;
+            }
+            if (scale > MAX_SCALE) {
+                throw new IllegalArgumentException("Rate for " + currency + " exceeds the supported precision of "
+                        + MAX_SCALE + " decimal places");
+            }
+
+            int row = rowFor(epochDay);
+            int column = columnFor(currency);
+            if (scale > columnScales[column]) {
+                rescale(column, scale);
+            }
+            columns[column][row] = Math.multiplyExact(unscaled, powerOfTen(columnScales[column] - scale));
+            return this;
+        }
+
+        /**
+         * Appends every data point of another series, e.g. one window of a backfill.
+         */
+        public Builder addSeries(HistoricalRateSeries series) {
+            for (int column = 0; column < series.currencies.length; column++) {
+                String currency = series.currencies[column];
+                long[] values = series.values[column];
+                for (int row = 0; row < series.epochDays.length; row++) {
+                    if (values[row] != MISSING) {
+                        addRate(series.epochDays[row], currency, values[row], series.scales[column]);
+                    }
+                }
+            }
+            return this;
+        }
+
+        public HistoricalRateSeries build() {
+            int[] order = sortedRowOrder();
+
+            // Collapse rows for the same date, later points winning
+            int[] outDays = new int[order.length];
+            int[] outRowOf = new int[order.length];
+            int outCount = 0;
+            for (int row : order) {
+                if (outCount == 0 || outDays[outCount - 1] != days[row]) {
+                    outDays[outCount++] = days[row];
+                }
+                outRowOf[row] = outCount - 1;
+            }
+
+            // Columns sorted by currency code so lookups can binary search
+            Integer[] columnOrder = new Integer[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columnOrder[i] = i;
+            }
+            Arrays.sort(columnOrder, (a, b) -> columnCurrencies[a].compareTo(columnCurrencies[b]));
+
+            String[] currencies = new String[columnCount];
+            int[] scales = new int[columnCount];
+            long[][] values = new long[columnCount][];
+            for (int i = 0; i < columnCount; i++) {
+                int source = columnOrder[i];
+                currencies[i] = columnCurrencies[source];
+                scales[i] = columnScales[source];
+
+                long[] column = new long[outCount];
+                Arrays.fill(column, MISSING);
+                for (int row = 0; row < rowCount; row++) {
+                    long value = columns[source][row];
+                    if (value != MISSING) {
+                        column[outRowOf[row]] = value;
+                    }
+                }
+                values[i] = column;
+            }
+
+            return new HistoricalRateSeries(amount, base, startDate, endDate,
+                    Arrays.copyOf(outDays, outCount), currencies, scales, values);
+        }
+
+        private int rowFor(int epochDay) {
+            if (rowCount > 0 && days[rowCount - 1] == epochDay) {
+                return rowCount - 1;
+            }
+            if (rowCount > 0 && epochDay < days[rowCount - 1]) {
+                sorted = false;
+            }
+            if (rowCount == days.length) {
+                days = Arrays.copyOf(days, rowCount * 2);
+                for (int column = 0; column < columnCount; column++) {
+                    columns[column] = grow(columns[column], days.length);
+                }
+            }
+            days[rowCount] = epochDay;
+            return rowCount++;
+        }
+
+        private int columnFor(String currency) {
+            for (int column = 0; column < columnCount; column++) {
+                if (columnCurrencies[column].equals(currency)) {
+                    return column;
+                }
+            }
+            if (columnCount == columns.length) {
+                columnCurrencies = Arrays.copyOf(columnCurrencies, columnCount * 2);
+                columnScales = Arrays.copyOf(columnScales, columnCount * 2);
+                columns = Arrays.copyOf(columns, columnCount * 2);
+            }
+            columnCurrencies[columnCount] = currency;
+            columns[columnCount] = grow(new long[0], days.length);
+            return columnCount++;
+        }
+
+        private void rescale(int column, int scale) {
+            long factor = powerOfTen(scale - columnScales[column]);
+            long[] values = columns[column];
+            for (int row = 0; row < rowCount; row++) {
+                if (values[row] != MISSING) {
+                    values[row] = Math.multiplyExact(values[row], factor);
+                }
+            }
+            columnScales[column] = scale;
+        }
+
+        /**
+         * Row indexes in ascending date order; stable, so later rows for the same date come last.
+         */
+        private int[] sortedRowOrder() {
+            int[] order = new int[rowCount];
+            if (sorted) {
+                for (int row = 0; row < rowCount; row++) {
+                    order[row] = row;
+                }
+                return order;
+            }
+            long[] keys = new long[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                keys[row] = ((long) days[row] << 32) | row;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < rowCount; i++) {
+                order[i] = (int) keys[i];
+            }
+            return order;
+        }
+
+        private static long powerOfTen(int exponent) {
+            if (exponent > MAX_SCALE) {
+                throw new ArithmeticException("10^" + exponent + " does not fit in a long");
+            }
+            return POWERS_OF_TEN[exponent];
+        }
+
+        private static long[] grow(long[] column, int length) {
+            int oldLength = column.length;
+            long[] grown = Arrays.copyOf(column, length);
+            Arrays.fill(grown, oldLength, length, MISSING);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.allobank.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads a {@link HistoricalRateSeries} from the JSON written by {@link HistoricalRateSeriesSerializer},
+ * delegating to the token-level {@link HistoricalRateSeriesParser}.
+ */
+public class HistoricalRateSeriesDeserializer extends StdDeserializer<HistoricalRateSeries> {
+
+    public HistoricalRateSeriesDeserializer() {
+        super(HistoricalRateSeries.class);
+    }
+
+    @Override
+    public HistoricalRateSeries deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return HistoricalRateSeriesParser.parse(parser);
+    }
+}
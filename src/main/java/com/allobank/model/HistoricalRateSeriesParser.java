@@ -0,0 +1,196 @@
+package com.allobank.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Token-by-token parser for Frankfurter time series responses.
+ * Rates are written straight into a {@link HistoricalRateSeries.Builder}; plain decimal
+ * numbers are converted to fixed-point longs without creating {@link BigDecimal}s or
+ * intermediate maps. Supports incremental (non-blocking) input via {@link #feed(ByteBuffer)}
+ * as well as parsing from an ordinary blocking {@link JsonParser}.
+ * Instances are not thread-safe and parse a single document.
+ */
+public class HistoricalRateSeriesParser implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Longest digit sequence that always fits in a long.
+     */
+    private static final int MAX_FAST_PATH_DIGITS = 18;
+
+    private final HistoricalRateSeries.Builder builder = HistoricalRateSeries.builder();
+    private final JsonParser asyncParser;
+
+    private int depth;
+    private String topLevelField;
+    private int currentEpochDay;
+    private String currentCurrency;
+
+    private HistoricalRateSeriesParser(JsonParser asyncParser) {
+        this.asyncParser = asyncParser;
+    }
+
+    /**
+     * Creates a parser that accepts the document in chunks through {@link #feed(ByteBuffer)}.
+     */
+    public static HistoricalRateSeriesParser nonBlocking() throws IOException {
+        return new HistoricalRateSeriesParser(JSON_FACTORY.createNonBlockingByteBufferParser());
+    }
+
+    /**
+     * Parses one series object from a blocking parser positioned at (or just before) its start.
+     */
+    public static HistoricalRateSeries parse(JsonParser parser) throws IOException {
+        HistoricalRateSeriesParser seriesParser = new HistoricalRateSeriesParser(null);
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        while (token != null) {
+            seriesParser.handle(parser, token);
+            if (seriesParser.depth == 0) {
+                break;
+            }
+            token = parser.nextToken();
+        }
+        return seriesParser.builder.build();
+    }
+
+    /**
+     * Consumes the next chunk of the document. The buffer is fully consumed before returning,
+     * so the caller may release it afterwards.
+     */
+    public void feed(ByteBuffer chunk) throws IOException {
+        ((ByteBufferFeeder) asyncParser.getNonBlockingInputFeeder()).feedInput(chunk);
+        drain();
+    }
+
+    /**
+     * Signals the end of the document and returns the parsed series.
+     */
+    public HistoricalRateSeries finish() throws IOException {
+        asyncParser.getNonBlockingInputFeeder().endOfInput();
+        drain();
+        if (depth != 0) {
+            throw new IOException("Unexpected end of historical rates document");
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void close() {
+        if (asyncParser == null) {
+            return;
+        }
+        try {
+            asyncParser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = asyncParser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            handle(asyncParser, token);
+        }
+    }
+
+    /**
+     * Tracks the nesting depth instead of skipping children, because a non-blocking
+     * parser may not have the rest of a skipped value yet.
+     * Depth 1 holds the envelope fields, depth 2 the dates of "rates", depth 3 the rates of a date.
+     */
+    private void handle(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> depth++;
+            case END_OBJECT, END_ARRAY -> depth--;
+            case FIELD_NAME -> onFieldName(parser.currentName());
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> onNumber(parser);
+            case VALUE_STRING -> onString(parser.getText());
+            default -> {
+                // Booleans and nulls carry nothing we keep
+            }
+        }
+    }
+
+    private void onFieldName(String name) {
+        if (depth == 1) {
+            topLevelField = name;
+        } else if (inRates() && depth == 2) {
+            currentEpochDay = (int) LocalDate.parse(name).toEpochDay();
+        } else if (inRates() && depth == 3) {
+            currentCurrency = name;
+        }
+    }
+
+    private void onNumber(JsonParser parser) throws IOException {
+        if (inRates() && depth == 3) {
+            addRate(parser);
+        } else if (depth == 1 && "amount".equals(topLevelField)) {
+            builder.amount(parser.getDecimalValue());
+        }
+    }
+
+    private void onString(String value) {
+        if (depth != 1 || topLevelField == null) {
+            return;
+        }
+        switch (topLevelField) {
+            case "base" -> builder.base(value);
+            case "start_date" -> builder.startDate(LocalDate.parse(value));
+            case "end_date" -> builder.endDate(LocalDate.parse(value));
+            default -> {
+                // Unknown envelope fields are ignored
+            }
+        }
+    }
+
+    private boolean inRates() {
+        return "rates".equals(topLevelField);
+    }
+
+    /**
+     * Converts plain decimals such as {@code 0.000064} directly from the token characters;
+     * exponents and very long numbers fall back to {@link BigDecimal}.
+     */
+    private void addRate(JsonParser parser) throws IOException {
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int end = offset + parser.getTextLength();
+
+        int position = offset;
+        boolean negative = position < end && text[position] == '-';
+        if (negative) {
+            position++;
+        }
+
+        long unscaled = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean fraction = false;
+        for (; position < end; position++) {
+            char c = text[position];
+            if (c == '.' && !fraction) {
+                fraction = true;
+            } else if (c >= '0' && c <= '9' && digits < MAX_FAST_PATH_DIGITS) {
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                if (fraction) {
+                    scale++;
+                }
+            } else {
+                builder.addRate(currentEpochDay, currentCurrency, parser.getDecimalValue());
+                return;
+            }
+        }
+        builder.addRate(currentEpochDay, currentCurrency, negative ? -unscaled : unscaled, scale);
+    }
+}
@@ -0,0 +1,57 @@
+package com.allobank.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Writes a {@link HistoricalRateSeries} in the same JSON shape as
+ * {@link com.allobank.dto.HistoricalRatesResponse}, streaming straight from the columns.
+ */
+public class HistoricalRateSeriesSerializer extends StdSerializer<HistoricalRateSeries> {
+
+    public HistoricalRateSeriesSerializer() {
+        super(HistoricalRateSeries.class);
+    }
+
+    @Override
+    public void serialize(HistoricalRateSeries series, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName("amount");
+        if (series.getAmount() != null) {
+            gen.writeNumber(series.getAmount());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeStringField("base", series.getBase());
+
+        gen.writeObjectFieldStart("rates");
+        for (int row = 0; row < series.size(); row++) {
+            gen.writeObjectFieldStart(series.getDate(row).toString());
+            for (int column = 0; column < series.getCurrencyCount(); column++) {
+                if (series.hasRate(column, row)) {
+                    gen.writeFieldName(series.getCurrency(column));
+                    gen.writeNumber(series.getRate(column, row));
+                }
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+
+        writeDateField(gen, "start_date", series.getStartDate());
+        writeDateField(gen, "end_date", series.getEndDate());
+        gen.writeEndObject();
+    }
+
+    private static void writeDateField(JsonGenerator gen, String name, LocalDate date) throws IOException {
+        if (date != null) {
+            gen.writeStringField(name, date.toString());
+        } else {
+            gen.writeNullField(name);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.allobank.model;
+
+import java.time.LocalDate;
+
+/**
+ * Summary of one currency's rates over a date range.
+ *
+ * @param startDate         Date of the first rate in the range
+ * @param endDate           Date of the last rate in the range
+ * @param count             Number of dates with a rate
+ * @param min               Lowest rate
+ * @param max               Highest rate
+ * @param mean              Arithmetic mean of the rates
+ * @param standardDeviation Population standard deviation of the rates
+ * @param change            Relative change from the first to the last rate, e.g. 0.01 for +1%
+ */
+public record RangeStatistics(LocalDate startDate, LocalDate endDate, int count, double min, double max,
+                              double mean, double standardDeviation, double change) {
+}
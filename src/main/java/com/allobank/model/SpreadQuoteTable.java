@@ -0,0 +1,130 @@
+package com.allobank.model;
+
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.util.SpreadCalculator;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buy and sell spread quotes in IDR for every currency of a latest-rates snapshot, held as
+ * parallel primitive columns indexed by currency ordinal. The buy quote of a currency is
+ * computed exactly like USD_BuySpread_IDR, (1 / Rate) * (1 + Spread Factor), and the sell
+ * quote is (1 / Rate) * (1 - Spread Factor); both are kept as unscaled longs at
+ * {@link SpreadCalculator#RESULT_SCALE}.
+ */
+@JsonSerialize(using = SpreadQuoteTableSerializer.class)
+public final class SpreadQuoteTable {
+
+    @Getter
+    private final String base;
+
+    @Getter
+    private final LocalDate date;
+
+    private final int spreadFactorUnits;
+    private final String[] currencies;
+    private final Map<String, Integer> ordinals;
+    private final long[] buy;
+    private final long[] sell;
+
+    private SpreadQuoteTable(String base, LocalDate date, int spreadFactorUnits, String[] currencies,
+                             long[] buy, long[] sell) {
+        this.base = base;
+        this.date = date;
+        this.spreadFactorUnits = spreadFactorUnits;
+        this.currencies = currencies;
+        this.buy = buy;
+        this.sell = sell;
+        this.ordinals = new HashMap<>(currencies.length * 2);
+        for (int i = 0; i < currencies.length; i++) {
+            ordinals.put(currencies[i], i);
+        }
+    }
+
+    /**
+     * Computes the quotes of every currency with a positive rate, in currency order. A currency
+     * whose quote does not fit the fixed-point columns is left out.
+     *
+     * @param latest Rates quoted per unit of IDR
+     * @param spreadFactorUnits The spread factor in units of 0.00001
+     */
+    public static SpreadQuoteTable from(LatestRatesResponse latest, int spreadFactorUnits) {
+        List<String> candidates = new ArrayList<>();
+        if (latest.getRates() != null) {
+            latest.getRates().forEach((currency, rate) -> {
+                if (rate != null && rate.signum() > 0 && !currency.equals(latest.getBase())) {
+                    candidates.add(currency);
+                }
+            });
+        }
+        String[] sorted = candidates.toArray(String[]::new);
+        Arrays.sort(sorted);
+
+        String[] currencies = new String[sorted.length];
+        long[] buy = new long[sorted.length];
+        long[] sell = new long[sorted.length];
+        int count = 0;
+        for (String currency : sorted) {
+            BigDecimal rate = latest.getRates().get(currency);
+            Long buyQuote = unscaled(SpreadCalculator.calculateUsdBuySpreadIdr(rate, spreadFactorUnits));
+            Long sellQuote = unscaled(SpreadCalculator.calculateSellSpreadIdr(rate, spreadFactorUnits));
+            if (buyQuote != null && sellQuote != null) {
+                currencies[count] = currency;
+                buy[count] = buyQuote;
+                sell[count] = sellQuote;
+                count++;
+            }
+        }
+        return new SpreadQuoteTable(latest.getBase(), latest.getDate(), spreadFactorUnits,
+                Arrays.copyOf(currencies, count), Arrays.copyOf(buy, count), Arrays.copyOf(sell, count));
+    }
+
+    public int size() {
+        return currencies.length;
+    }
+
+    /**
+     * @return The ordinal of the currency, or -1 if the table does not quote it
+     */
+    public int ordinal(String currency) {
+        Integer ordinal = ordinals.get(currency);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public String currency(int ordinal) {
+        return currencies[ordinal];
+    }
+
+    public BigDecimal getSpreadFactor() {
+        return BigDecimal.valueOf(spreadFactorUnits, SpreadCalculator.SPREAD_FACTOR_SCALE);
+    }
+
+    /**
+     * @return IDR paid per unit of the currency bought
+     */
+    public BigDecimal buy(int ordinal) {
+        return BigDecimal.valueOf(buy[ordinal], SpreadCalculator.RESULT_SCALE);
+    }
+
+    /**
+     * @return IDR received per unit of the currency sold
+     */
+    public BigDecimal sell(int ordinal) {
+        return BigDecimal.valueOf(sell[ordinal], SpreadCalculator.RESULT_SCALE);
+    }
+
+    private static Long unscaled(BigDecimal quote) {
+        BigDecimal unscaled = quote.movePointRight(SpreadCalculator.RESULT_SCALE);
+        return unscaled.signum() > 0 && unscaled.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0
+                ? unscaled.longValueExact()
+                : null;
+    }
+}
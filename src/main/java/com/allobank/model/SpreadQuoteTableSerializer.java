@@ -0,0 +1,44 @@
+package com.allobank.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link SpreadQuoteTable} as {@code {"base","date","spread_factor","quotes":{"USD":{"buy","sell"}}}},
+ * streaming straight from the columns.
+ */
+public class SpreadQuoteTableSerializer extends StdSerializer<SpreadQuoteTable> {
+
+    public SpreadQuoteTableSerializer() {
+        super(SpreadQuoteTable.class);
+    }
+
+    @Override
+    public void serialize(SpreadQuoteTable table, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("base", table.getBase());
+        if (table.getDate() != null) {
+            gen.writeStringField("date", table.getDate().toString());
+        } else {
+            gen.writeNullField("date");
+        }
+        gen.writeFieldName("spread_factor");
+        gen.writeNumber(table.getSpreadFactor());
+
+        gen.writeObjectFieldStart("quotes");
+        for (int ordinal = 0; ordinal < table.size(); ordinal++) {
+            gen.writeObjectFieldStart(table.currency(ordinal));
+            gen.writeFieldName("buy");
+            gen.writeNumber(table.buy(ordinal));
+            gen.writeFieldName("sell");
+            gen.writeNumber(table.sell(ordinal));
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+}
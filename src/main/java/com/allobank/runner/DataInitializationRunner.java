@@ -1,5 +1,7 @@
 package com.allobank.runner;
 
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.DataSnapshotService;
 import com.allobank.service.InMemoryDataStore;
 import com.allobank.strategy.IDRDataFetcher;
 import lombok.RequiredArgsConstructor;
@@ -9,12 +11,15 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ApplicationRunner that fetches all data from external API on startup
  * and loads it into the in-memory store.
+ * Fetches run in the background: each resource is served as soon as it is stored,
+ * and the initial load is marked complete once every fetch has finished.
+ * Resources restored from a persisted snapshot are served immediately.
  */
 @Slf4j
 @Component
@@ -23,58 +28,61 @@ public class DataInitializationRunner implements ApplicationRunner {
 
     private final List<IDRDataFetcher> dataFetchers;
     private final InMemoryDataStore dataStore;
+    private final DataSnapshotService snapshotService;
+    private final DataRefreshService refreshService;
 
     @Override
     public void run(ApplicationArguments args) {
         log.info("Starting data initialization for {} resource types", dataFetchers.size());
-        
-        CountDownLatch latch = new CountDownLatch(dataFetchers.size());
-        java.util.concurrent.atomic.AtomicInteger successCount = new java.util.concurrent.atomic.AtomicInteger(0);
-        java.util.concurrent.atomic.AtomicInteger failureCount = new java.util.concurrent.atomic.AtomicInteger(0);
 
+        Set<String> restored = snapshotService.restore();
+        if (!restored.isEmpty()
+                && dataFetchers.stream().map(IDRDataFetcher::getResourceType).allMatch(restored::contains)) {
+            dataStore.markDataLoaded();
+            log.info("Serving {} resources from snapshot while refreshing from upstream in the background",
+                    restored.size());
+        }
+
+        if (dataFetchers.isEmpty()) {
+            completeInitialization(0, 0);
+            return;
+        }
+
+        AtomicInteger pendingCount = new AtomicInteger(dataFetchers.size());
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failureCount = new AtomicInteger(0);
+
+        // Each resource becomes servable as soon as its own fetch is stored; startup never waits
         for (IDRDataFetcher fetcher : dataFetchers) {
             String resourceType = fetcher.getResourceType();
-            
-            fetcher.fetchData()
-                    .doOnSuccess(data -> {
-                        if (data != null) {
-                            dataStore.storeData(resourceType, data);
+
+            // Shares the fetch with any on-demand read of the same resource
+            refreshService.refresh(fetcher)
+                    .subscribe(published -> {
+                        if (dataStore.isResourceReady(resourceType)) {
                             log.info("Successfully loaded data for resource: {}", resourceType);
                             successCount.incrementAndGet();
                         } else {
-                            log.warn("Received null data for resource: {}", resourceType);
+                            log.warn("Failed to load data for resource: {}", resourceType);
                             failureCount.incrementAndGet();
                         }
-                        latch.countDown();
-                    })
-                    .doOnError(error -> {
-                        log.error("Failed to load data for resource: {}", resourceType, error);
-                        failureCount.incrementAndGet();
-                        latch.countDown();
-                    })
-                    .subscribe();
-        }
-
-        try {
-            // Wait for all fetchers to complete (with timeout)
-            boolean completed = latch.await(30, TimeUnit.SECONDS);
-            if (!completed) {
-                log.error("Data initialization timed out after 30 seconds");
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Data initialization was interrupted", e);
+                        if (pendingCount.decrementAndGet() == 0) {
+                            completeInitialization(successCount.get(), failureCount.get());
+                        }
+                    });
         }
+    }
 
-        // Mark data loading as complete
+    /**
+     * Runs once every fetcher has either stored its data or failed.
+     */
+    private void completeInitialization(int successCount, int failureCount) {
         dataStore.markDataLoaded();
 
-        log.info("Data initialization completed. Success: {}, Failures: {}", 
-                successCount.get(), failureCount.get());
-        
-        if (failureCount.get() > 0) {
+        log.info("Data initialization completed. Success: {}, Failures: {}", successCount, failureCount);
+
+        if (failureCount > 0) {
             log.warn("Some resources failed to load. Application will continue but some endpoints may not work.");
         }
     }
 }
-
@@ -0,0 +1,78 @@
+package com.allobank.service;
+
+import java.util.Locale;
+
+/**
+ * Content codings in which {@link InMemoryDataStore} keeps each encoded body. Compressed
+ * variants are produced once when a resource is stored, so serving one costs no
+ * per-request compression.
+ */
+public enum ContentCoding {
+
+    IDENTITY(null, ""),
+    GZIP("gzip", "-gzip");
+
+    /**
+     * The Content-Encoding header value, or null for the uncompressed body.
+     */
+    private final String headerValue;
+
+    /**
+     * Appended to the ETag, since a compressed body is a different representation.
+     */
+    private final String etagSuffix;
+
+    ContentCoding(String headerValue, String etagSuffix) {
+        this.headerValue = headerValue;
+        this.etagSuffix = etagSuffix;
+    }
+
+    public String getHeaderValue() {
+        return headerValue;
+    }
+
+    String etag(String etag) {
+        return etagSuffix.isEmpty()
+                ? etag
+                : etag.substring(0, etag.length() - 1) + etagSuffix + "\"";
+    }
+
+    /**
+     * Picks the coding for an Accept-Encoding header: gzip when it is acceptable, either by
+     * name ({@code gzip} or {@code x-gzip}) or through {@code *}, with a non-zero quality.
+     *
+     * @param acceptEncoding The Accept-Encoding request header, or null
+     */
+    public static ContentCoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean acceptable = quality(parts) > 0;
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = acceptable;
+            } else if (coding.equals("*")) {
+                wildcard = acceptable;
+            }
+        }
+        return (gzip != null ? gzip : wildcard) ? GZIP : IDENTITY;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
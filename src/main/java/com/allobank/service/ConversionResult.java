@@ -0,0 +1,22 @@
+package com.allobank.service;
+
+import com.allobank.model.ConversionBatch;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Evaluated conversions, index-aligned with the request batch.
+ *
+ * @param batch     The requested conversions
+ * @param ratesDate Publication date of the rates the batch was evaluated against
+ * @param rates     Effective rate per conversion, or null if a currency is unknown
+ * @param converted Converted amount per conversion, or null if a currency is unknown
+ */
+public record ConversionResult(ConversionBatch batch, LocalDate ratesDate, BigDecimal[] rates,
+                               BigDecimal[] converted) {
+
+    public int size() {
+        return batch.size();
+    }
+}
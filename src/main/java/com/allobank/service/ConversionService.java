@@ -0,0 +1,206 @@
+package com.allobank.service;
+
+import com.allobank.config.ConversionProperties;
+import com.allobank.config.SpreadFactor;
+import com.allobank.model.ConversionBatch;
+import com.allobank.model.ConversionBatchParser;
+import com.allobank.model.CrossRateMatrix;
+import com.allobank.util.SpreadCalculator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk currency conversion against the current cross-rate matrix. A request is parsed
+ * token by token into a columnar {@link ConversionBatch}, evaluated in one loop, and written
+ * back in chunks so large responses stream instead of being buffered whole. Amounts and rates
+ * are decimals throughout, since the results feed settlement.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConversionService {
+
+    public static final String CONVERT_PATH = "/api/finance/convert";
+
+    /**
+     * Metric tag for bulk conversion requests.
+     */
+    public static final String RESOURCE_TAG = "convert";
+
+    /**
+     * Response header carrying the publication date of the rates used.
+     */
+    public static final String RATES_DATE_HEADER = "X-Rates-Date";
+
+    /**
+     * Conversions encoded per response chunk.
+     */
+    static final int CHUNK_SIZE = 1024;
+
+    /**
+     * Precision of rates and converted amounts.
+     */
+    static final MathContext PRECISION = MathContext.DECIMAL64;
+
+    /**
+     * Writes decimals in plain notation, as settlement consumers expect.
+     */
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .build();
+    private static final byte[] ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+
+    private final CrossRateService crossRateService;
+    private final ConversionProperties conversionProperties;
+    private final SpreadFactor spreadFactor;
+
+    /**
+     * Parses a request body from a blocking stream.
+     */
+    public ConversionBatch parse(InputStream body) throws IOException {
+        return ConversionBatchParser.parse(body, conversionProperties.getMaxItems());
+    }
+
+    /**
+     * Parses a request body as it arrives, releasing each chunk once it has been consumed.
+     * Malformed input fails the Mono with an {@link IOException}.
+     */
+    public Mono<ConversionBatch> parse(Flux<DataBuffer> body) {
+        return Mono.using(() -> ConversionBatchParser.nonBlocking(conversionProperties.getMaxItems()),
+                parser -> body
+                        .doOnNext(buffer -> feed(parser, buffer))
+                        .then(Mono.fromCallable(parser::finish)),
+                ConversionBatchParser::close)
+                .onErrorMap(UncheckedIOException.class, UncheckedIOException::getCause);
+    }
+
+    /**
+     * Evaluates every conversion against the matrix derived from the given latest rates.
+     * Rates are computed from the decimal base rates to {@link #PRECISION}, once per distinct pair
+     * in the batch. Same-currency conversions use a rate of exactly 1, without a spread.
+     *
+     * @param latest The stored latest rates
+     * @param spread Whether to apply the buy spread to each rate
+     */
+    public ConversionResult convert(ConversionBatch batch, StoredResource latest, boolean spread) {
+        CrossRateMatrix matrix = crossRateService.getMatrix(latest);
+        int size = batch.size();
+        int currencies = matrix.size();
+
+        BigDecimal[] pairRates = new BigDecimal[currencies * currencies];
+        BigDecimal[] rates = new BigDecimal[size];
+        BigDecimal[] converted = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            int from = matrix.ordinal(batch.getFrom(i));
+            int to = matrix.ordinal(batch.getTo(i));
+            if (from < 0 || to < 0) {
+                continue;
+            }
+            int pair = from * currencies + to;
+            BigDecimal rate = pairRates[pair];
+            if (rate == null) {
+                rate = effectiveRate(matrix, from, to, spread);
+                pairRates[pair] = rate;
+            }
+            rates[i] = rate;
+            converted[i] = batch.getAmount(i).multiply(rate, PRECISION);
+        }
+        log.debug("Converted {} amount(s) against rates of {}", size, matrix.getDate());
+        return new ConversionResult(batch, matrix.getDate(), rates, converted);
+    }
+
+    /**
+     * Writes the results as a JSON array to a blocking stream, flushing after every chunk.
+     */
+    public void write(ConversionResult result, OutputStream out) throws IOException {
+        out.write(ARRAY_START);
+        for (int start = 0; start < result.size(); start += CHUNK_SIZE) {
+            out.write(encodeChunk(result, start, Math.min(start + CHUNK_SIZE, result.size())));
+            out.flush();
+        }
+        out.write(ARRAY_END);
+    }
+
+    /**
+     * Encodes the results as a JSON array, one chunk at a time as the subscriber requests them.
+     */
+    public Flux<byte[]> encode(ConversionResult result) {
+        int chunks = (result.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return Flux.concat(
+                Mono.just(ARRAY_START),
+                Flux.range(0, chunks).map(chunk -> encodeChunk(result, chunk * CHUNK_SIZE,
+                        Math.min((chunk + 1) * CHUNK_SIZE, result.size()))),
+                Mono.just(ARRAY_END));
+    }
+
+    /**
+     * Encodes the elements in [start, end), preceded by a separator unless start is 0.
+     * Each element echoes the request and adds either {@code rate} and {@code converted}
+     * or an {@code error}.
+     */
+    static byte[] encodeChunk(ConversionResult result, int start, int end) {
+        ConversionBatch batch = result.batch();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((end - start) * 96);
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(bytes)) {
+            gen.setRootValueSeparator(new SerializedString(","));
+            if (start > 0) {
+                gen.writeRaw(',');
+            }
+            for (int i = start; i < end; i++) {
+                gen.writeStartObject();
+                gen.writeStringField("from", batch.getFrom(i));
+                gen.writeStringField("to", batch.getTo(i));
+                gen.writeNumberField("amount", batch.getAmount(i));
+                if (result.rates()[i] == null) {
+                    gen.writeStringField("error", "Unknown currency pair: " + batch.getFrom(i) + "/" + batch.getTo(i));
+                } else {
+                    gen.writeNumberField("rate", result.rates()[i]);
+                    gen.writeNumberField("converted", result.converted()[i]);
+                }
+                gen.writeEndObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private BigDecimal effectiveRate(CrossRateMatrix matrix, int from, int to, boolean spread) {
+        BigDecimal mid = matrix.decimalRate(from, to, PRECISION);
+        if (!spread || from == to) {
+            return mid;
+        }
+        return SpreadCalculator.applyBuySpread(mid, spreadFactor.getUnits(), PRECISION);
+    }
+
+    private static void feed(ConversionBatchParser parser, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+            while (chunks.hasNext()) {
+                parser.feed(chunks.next());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
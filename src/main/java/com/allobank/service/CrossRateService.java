@@ -0,0 +1,131 @@
+package com.allobank.service;
+
+import com.allobank.dto.CrossRatesResponse;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.CrossRateMatrix;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Answers cross-rate requests from a {@link CrossRateMatrix} of the stored latest IDR rates,
+ * so any pair costs two ordinal lookups. The matrix is built once per version of the rates,
+ * as the version is published.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CrossRateService {
+
+    public static final String SOURCE_RESOURCE_TYPE = "latest_idr_rates";
+
+    public static final String CROSS_RATES_PATH = "/api/finance/rates/cross";
+
+    /**
+     * Metric tag for cross-rate requests.
+     */
+    public static final String RESOURCE_TAG = "cross_rates";
+
+    private final InMemoryDataStore dataStore;
+    private final ResourceResponses responses;
+
+    private final DerivedView<LatestRatesResponse, CrossRateMatrix> matrices =
+            new DerivedView<>(SOURCE_RESOURCE_TYPE, LatestRatesResponse.class, CrossRateService::buildMatrix);
+
+    @PostConstruct
+    void registerListener() {
+        matrices.deriveOnPublish(dataStore);
+    }
+
+    /**
+     * Returns the matrix derived from the given stored latest rates.
+     *
+     * @param latest The stored {@code latest_idr_rates} entry
+     */
+    public CrossRateMatrix getMatrix(StoredResource latest) {
+        return matrices.get(latest);
+    }
+
+    /**
+     * Looks up the stored latest rates that cross rates are derived from, reading them
+     * through to upstream on a miss.
+     *
+     * @return A Mono emitting the stored entry, or empty if it could not be loaded
+     */
+    public Mono<StoredResource> getSource() {
+        return responses.getOrLoad(SOURCE_RESOURCE_TYPE);
+    }
+
+    /**
+     * Answers a cross-rate request from the precomputed matrix: the rate of {@code to} per
+     * unit of {@code from}, or every rate of {@code from} when {@code to} is omitted.
+     * Currency codes are case-insensitive.
+     *
+     * @param latest The stored latest rates, or null if they are missing even after read-through
+     */
+    public ResponseEntity<?> respond(String from, String to, String ifNoneMatch, StoredResource latest) {
+        if (from == null || from.isBlank()) {
+            return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Parameter",
+                    "Parameter 'from' is required", CROSS_RATES_PATH);
+        }
+        if (latest == null) {
+            return responses.unavailable(SOURCE_RESOURCE_TYPE, CROSS_RATES_PATH);
+        }
+
+        CrossRateMatrix matrix = getMatrix(latest);
+        String fromCurrency = from.trim().toUpperCase(Locale.ROOT);
+        String toCurrency = to != null && !to.isBlank() ? to.trim().toUpperCase(Locale.ROOT) : null;
+        int fromOrdinal = matrix.ordinal(fromCurrency);
+        int toOrdinal = toCurrency != null ? matrix.ordinal(toCurrency) : -1;
+        if (fromOrdinal < 0 || (toCurrency != null && toOrdinal < 0)) {
+            return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Currency",
+                    "Unknown currency: " + (fromOrdinal < 0 ? fromCurrency : toCurrency), CROSS_RATES_PATH);
+        }
+
+        // Like a historical slice, the answer is a pure function of the stored version and the pair
+        String pair = toCurrency != null ? fromCurrency + "-" + toCurrency : fromCurrency;
+        String etag = ResourceResponses.derivedEtag(latest, "cross-" + pair);
+        CacheControl cacheControl = responses.cacheControlFor(SOURCE_RESOURCE_TYPE);
+        if (ResourceResponses.matchesEtag(ifNoneMatch, etag)) {
+            return ResourceResponses.notModified(etag, cacheControl);
+        }
+
+        Map<String, Double> rates;
+        if (toCurrency != null) {
+            rates = Map.of(toCurrency, matrix.rate(fromOrdinal, toOrdinal));
+        } else {
+            rates = new LinkedHashMap<>();
+            for (int ordinal = 0; ordinal < matrix.size(); ordinal++) {
+                if (ordinal != fromOrdinal) {
+                    rates.put(matrix.currency(ordinal), matrix.rate(fromOrdinal, ordinal));
+                }
+            }
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(CrossRatesResponse.builder()
+                        .base(fromCurrency)
+                        .date(matrix.getDate())
+                        .rates(rates)
+                        .build());
+    }
+
+    private static CrossRateMatrix buildMatrix(LatestRatesResponse rates) {
+        CrossRateMatrix matrix = CrossRateMatrix.from(rates);
+        log.debug("Built {}x{} cross-rate matrix for {}", matrix.size(), matrix.size(), matrix.getDate());
+        return matrix;
+    }
+}
@@ -0,0 +1,289 @@
+package com.allobank.service;
+
+import com.allobank.config.RefreshProperties;
+import com.allobank.strategy.IDRDataFetcher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background refresh engine that re-runs each {@link IDRDataFetcher} on its own interval.
+ * Fetching and encoding happen off the request path, and encoding runs on the bounded
+ * elastic scheduler rather than the event loop that received the upstream response; the
+ * result is published to the {@link InMemoryDataStore} with an atomic snapshot swap.
+ * Fetches are single-flight per resource: the initial load, scheduled refreshes and
+ * on-demand reads of a missing resource all share one in-flight upstream call.
+ * Each resource's upstream endpoint is guarded by an {@link UpstreamCircuitBreaker}. While
+ * fetches fail, the last good snapshot keeps being served and is reported as stale, and
+ * the fetch is retried on a shorter interval until it succeeds.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataRefreshService {
+
+    private final List<IDRDataFetcher> dataFetchers;
+    private final InMemoryDataStore dataStore;
+    private final RefreshProperties refreshProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Disposable.Composite schedules = Disposables.composite();
+    private final Map<String, Instant> nextRefreshTimes = new ConcurrentHashMap<>();
+    private final Map<String, Mono<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, UpstreamCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastSuccessTimes = new ConcurrentHashMap<>();
+    private final Map<String, Instant> failingSince = new ConcurrentHashMap<>();
+    private final Map<FetchOutcome, Timer> fetchTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> payloadSizes = new ConcurrentHashMap<>();
+
+    /**
+     * Starts one refresh schedule per resource once the initial load has run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startScheduledRefresh() {
+        if (!refreshProperties.isEnabled()) {
+            log.info("Scheduled data refresh is disabled");
+            return;
+        }
+
+        for (IDRDataFetcher fetcher : dataFetchers) {
+            String resourceType = fetcher.getResourceType();
+            Duration interval = refreshProperties.getInterval(resourceType);
+            log.info("Scheduling refresh of resource: {} every {}", resourceType, interval);
+
+            nextRefreshTimes.put(resourceType, Instant.now().plus(interval));
+            schedules.add(Flux.interval(interval, interval)
+                    .doOnNext(tick -> nextRefreshTimes.put(resourceType, Instant.now().plus(interval)))
+                    .onBackpressureDrop()
+                    .concatMap(tick -> refresh(fetcher))
+                    .subscribe());
+
+            // Failed or missing resources are retried sooner than their regular interval
+            Duration retryInterval = refreshProperties.getFailureRetryInterval();
+            schedules.add(Flux.interval(retryInterval, retryInterval)
+                    .filter(tick -> failingSince.containsKey(resourceType)
+                            || !dataStore.isResourceReady(resourceType))
+                    .onBackpressureDrop()
+                    .concatMap(tick -> refresh(fetcher))
+                    .subscribe());
+        }
+    }
+
+    /**
+     * Returns when the resource is next due to be refreshed.
+     *
+     * @param resourceType The resource type identifier
+     * @return The next scheduled refresh time, or empty if the resource is not refreshed
+     */
+    public Optional<Instant> getNextRefreshTime(String resourceType) {
+        return Optional.ofNullable(nextRefreshTimes.get(resourceType));
+    }
+
+    /**
+     * Returns how old the served snapshot of a resource is while its refreshes are failing:
+     * the time since its last successful fetch, or since it was stored if it was restored
+     * from a persisted snapshot and never fetched.
+     *
+     * @param resourceType The resource type identifier
+     * @return The age of the stale snapshot, or empty if the last fetch succeeded or nothing is stored
+     */
+    public Optional<Duration> getStaleAge(String resourceType) {
+        if (!failingSince.containsKey(resourceType) || !dataStore.isResourceReady(resourceType)) {
+            return Optional.empty();
+        }
+        Instant lastSuccess = lastSuccessTimes.get(resourceType);
+        if (lastSuccess == null) {
+            StoredResource resource = dataStore.peek(resourceType);
+            lastSuccess = resource != null ? resource.getStoredAt() : Instant.now();
+        }
+        return Optional.of(Duration.between(lastSuccess, Instant.now()));
+    }
+
+    /**
+     * @return How long a read-through waits for the shared on-demand fetch before giving up
+     */
+    public Duration getReadThroughTimeout() {
+        return refreshProperties.getReadThrough().getTimeout();
+    }
+
+    /**
+     * @return The state of the circuit breaker guarding the resource's upstream endpoint
+     */
+    public UpstreamCircuitBreaker.State getCircuitState(String resourceType) {
+        return circuitBreaker(resourceType).getState();
+    }
+
+    /**
+     * Fetches the resource once and publishes it if the payload changed.
+     * Errors are logged and swallowed so the last good snapshot keeps being served.
+     * Concurrent calls for the same resource share a single upstream fetch.
+     *
+     * @param fetcher The strategy to run
+     * @return A Mono emitting true if a new snapshot was published, false otherwise
+     */
+    public Mono<Boolean> refresh(IDRDataFetcher fetcher) {
+        // Released before the result is delivered, so a caller woken by it starts a fresh fetch
+        return inFlight.computeIfAbsent(fetcher.getResourceType(), resourceType -> fetchAndStore(fetcher)
+                .doOnSuccess(published -> inFlight.remove(resourceType))
+                .doFinally(signal -> inFlight.remove(resourceType))
+                .cache());
+    }
+
+    /**
+     * Read-through for a resource missing from the store: triggers (or joins) the
+     * resource's in-flight fetch and emits the stored entry once it is available.
+     * The wait is bounded by the configured read-through timeout; giving up does not
+     * cancel the shared fetch, which still completes for later requests.
+     *
+     * @param resourceType The resource type identifier
+     * @return A Mono emitting the stored entry, or empty if it could not be loaded in time
+     */
+    public Mono<StoredResource> fetchOnDemand(String resourceType) {
+        if (!refreshProperties.getReadThrough().isEnabled()) {
+            return Mono.empty();
+        }
+        Duration timeout = refreshProperties.getReadThrough().getTimeout();
+        return dataFetchers.stream()
+                .filter(fetcher -> fetcher.getResourceType().equals(resourceType))
+                .findFirst()
+                .map(fetcher -> refresh(fetcher)
+                        .then(Mono.fromSupplier(() -> dataStore.peek(resourceType)))
+                        .timeout(timeout)
+                        .onErrorResume(TimeoutException.class, error -> {
+                            log.warn("On-demand fetch of resource: {} did not complete within {}",
+                                    resourceType, timeout);
+                            return Mono.empty();
+                        }))
+                .orElseGet(Mono::empty);
+    }
+
+    /**
+     * Blocking variant of {@link #fetchOnDemand(String)} for servlet request threads.
+     *
+     * @param resourceType The resource type identifier
+     * @return The stored entry, or empty if it could not be loaded in time
+     */
+    public Optional<StoredResource> loadOnDemand(String resourceType) {
+        return fetchOnDemand(resourceType).blockOptional();
+    }
+
+    /**
+     * Runs the fetch through the resource's circuit breaker, recording its latency by outcome
+     * and the encoded size of the payload. A rejected fetch does not call upstream.
+     */
+    private Mono<Boolean> fetchAndStore(IDRDataFetcher fetcher) {
+        String resourceType = fetcher.getResourceType();
+        UpstreamCircuitBreaker circuitBreaker = circuitBreaker(resourceType);
+
+        return Mono.defer(() -> {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    if (!circuitBreaker.tryAcquire()) {
+                        sample.stop(fetchTimer(resourceType, "rejected"));
+                        log.warn("Circuit open for resource: {}, keeping current snapshot", resourceType);
+                        failingSince.putIfAbsent(resourceType, Instant.now());
+                        return Mono.just(false);
+                    }
+                    return fetcher.fetchData()
+                            // Encoding and compressing every variant must not run on the Netty event loop
+                            // that emitted the response, which the reactive server shares
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(data -> dataStore.storeData(resourceType, data))
+                            .doOnNext(published -> recordPayloadSize(resourceType))
+                            .doOnNext(published -> {
+                                circuitBreaker.onSuccess();
+                                lastSuccessTimes.put(resourceType, Instant.now());
+                                failingSince.remove(resourceType);
+                                log.info("Refreshed resource: {} (changed: {})", resourceType, published);
+                            })
+                            .doOnSuccess(published -> {
+                                sample.stop(fetchTimer(resourceType, published != null ? "success" : "empty"));
+                                if (published == null) {
+                                    recordFailure(resourceType, circuitBreaker);
+                                    log.warn("Fetch of resource: {} returned no data, keeping current snapshot",
+                                            resourceType);
+                                }
+                            })
+                            .doOnError(error -> {
+                                sample.stop(fetchTimer(resourceType, "failure"));
+                                recordFailure(resourceType, circuitBreaker);
+                                log.error("Failed to refresh resource: {}, keeping current snapshot",
+                                        resourceType, error);
+                            })
+                            .onErrorResume(error -> Mono.just(false));
+                })
+                .defaultIfEmpty(false);
+    }
+
+    private void recordFailure(String resourceType, UpstreamCircuitBreaker circuitBreaker) {
+        circuitBreaker.onFailure();
+        failingSince.putIfAbsent(resourceType, Instant.now());
+    }
+
+    private UpstreamCircuitBreaker circuitBreaker(String resourceType) {
+        return circuitBreakers.computeIfAbsent(resourceType, type -> {
+            RefreshProperties.CircuitBreaker settings = refreshProperties.getCircuitBreaker();
+            UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(settings.getFailureThreshold(),
+                    settings.getOpenDuration(), Clock.systemUTC());
+            Gauge.builder("finance.upstream.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                    .description("Circuit breaker state per resource: 0 closed, 1 half-open, 2 open")
+                    .tag("resource", type)
+                    .register(meterRegistry);
+            return circuitBreaker;
+        });
+    }
+
+    /**
+     * Meters are cached per resource and outcome so fetches do not rebuild them in the registry.
+     */
+    private Timer fetchTimer(String resourceType, String outcome) {
+        return fetchTimers.computeIfAbsent(new FetchOutcome(resourceType, outcome),
+                key -> Timer.builder("finance.fetch")
+                        .description("Upstream fetch latency per resource, including encoding and publishing")
+                        .tag("resource", key.resourceType())
+                        .tag("outcome", key.outcome())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+
+    private void recordPayloadSize(String resourceType) {
+        StoredResource resource = dataStore.peek(resourceType);
+        if (resource != null) {
+            payloadSizes.computeIfAbsent(resourceType,
+                            type -> DistributionSummary.builder("finance.fetch.payload.size")
+                                    .description("Encoded JSON size of each fetched resource")
+                                    .baseUnit("bytes")
+                                    .tag("resource", type)
+                                    .register(meterRegistry))
+                    .record(resource.getJson().length);
+        }
+    }
+
+    @PreDestroy
+    public void stopScheduledRefresh() {
+        schedules.dispose();
+    }
+
+    private record FetchOutcome(String resourceType, String outcome) {
+    }
+}
@@ -0,0 +1,298 @@
+package com.allobank.service;
+
+import com.allobank.config.SnapshotProperties;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Persists the {@link InMemoryDataStore} to a compact binary file after published changes
+ * and restores it on startup, so the application can serve data before upstream responds.
+ * Writes run on a single background thread; changes published in quick succession are
+ * coalesced into one write of the latest state.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ * int   magic ("ALLO")
+ * short format version
+ * long  written-at epoch millis
+ * int   entry count
+ * entry * count:
+ *   short+bytes resource type (UTF-8)
+ *   short+bytes data class name (UTF-8)
+ *   long        stored-at epoch millis
+ *   int+bytes   unified JSON array body
+ * int   CRC32 of everything above
+ * </pre>
+ * The file is replaced atomically and read in a single pass on startup; every entry is decoded
+ * and re-encoded when restored, so mapping the file would save nothing. Files with a different
+ * magic or version, a checksum mismatch, or an age above the configured maximum are ignored.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataSnapshotService {
+
+    static final int MAGIC = 0x414C4C4F;
+    static final short FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+
+    /**
+     * Only application types are rehydrated from the file.
+     */
+    private static final String ALLOWED_PACKAGE_PREFIX = "com.allobank.";
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final InMemoryDataStore dataStore;
+    private final SnapshotProperties snapshotProperties;
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "data-snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean writePending = new AtomicBoolean();
+
+    @PostConstruct
+    void registerListener() {
+        if (snapshotProperties.isEnabled()) {
+            dataStore.addListener(resource -> schedulePersist());
+        }
+    }
+
+    /**
+     * Queues a write of the current store on the writer thread, keeping file I/O off the
+     * storing thread. Stores published while a write is still queued share that write,
+     * since it reads the store only when it runs.
+     */
+    public void schedulePersist() {
+        if (writePending.compareAndSet(false, true)) {
+            try {
+                writer.execute(() -> {
+                    writePending.set(false);
+                    persist();
+                });
+            } catch (RejectedExecutionException e) {
+                writePending.set(false);
+                log.debug("Data snapshot writer is shut down, skipping write");
+            }
+        }
+    }
+
+    /**
+     * Waits until every write queued so far has completed.
+     */
+    void awaitPendingWrites() throws InterruptedException, ExecutionException {
+        writer.submit(() -> {
+        }).get();
+    }
+
+    /**
+     * Lets a queued write of the latest changes finish before the application stops.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Data snapshot write did not finish within {}", SHUTDOWN_TIMEOUT);
+        }
+    }
+
+    /**
+     * Writes every stored resource to the snapshot file.
+     * Failures are logged and never propagate to the caller.
+     */
+    public synchronized void persist() {
+        Path file = snapshotProperties.getFile();
+        try {
+            byte[] content = encodeSnapshot();
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, content);
+                moveIntoPlace(temp, file);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.debug("Wrote data snapshot: {} ({} bytes)", file, content.length);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write data snapshot: {}", file, e);
+        }
+    }
+
+    /**
+     * Loads the snapshot file into the store, if it exists and is valid.
+     *
+     * @return The resource types that were restored; empty if nothing could be restored
+     */
+    public Set<String> restore() {
+        if (!snapshotProperties.isEnabled()) {
+            return Set.of();
+        }
+
+        Path file = snapshotProperties.getFile();
+        try {
+            return decodeSnapshot(file, ByteBuffer.wrap(Files.readAllBytes(file)));
+        } catch (NoSuchFileException e) {
+            log.info("No data snapshot found at: {}", file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable data snapshot: {}", file, e);
+        }
+        return Set.of();
+    }
+
+    private byte[] encodeSnapshot() throws IOException {
+        List<StoredResource> resources = List.copyOf(dataStore.getResources());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeLong(Instant.now().toEpochMilli());
+        out.writeInt(resources.size());
+        for (StoredResource resource : resources) {
+            writeString(out, resource.getResourceType());
+            writeString(out, resource.getData().getClass().getName());
+            out.writeLong(resource.getStoredAt().toEpochMilli());
+            out.writeInt(resource.getJson().length);
+            out.write(resource.getJson());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private Set<String> decodeSnapshot(Path file, ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_BYTES + TRAILER_BYTES || buffer.getInt(0) != MAGIC) {
+            log.warn("Ignoring data snapshot with unknown format: {}", file);
+            return Set.of();
+        }
+        short version = buffer.getShort(Integer.BYTES);
+        if (version != FORMAT_VERSION) {
+            log.warn("Ignoring data snapshot with format version {} (expected {}): {}", version, FORMAT_VERSION, file);
+            return Set.of();
+        }
+
+        int checksumOffset = buffer.limit() - TRAILER_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, checksumOffset));
+        if ((int) crc.getValue() != buffer.getInt(checksumOffset)) {
+            log.warn("Ignoring corrupted data snapshot (checksum mismatch): {}", file);
+            return Set.of();
+        }
+
+        ByteBuffer content = buffer.slice(0, checksumOffset);
+        content.position(Integer.BYTES + Short.BYTES);
+        Instant writtenAt = Instant.ofEpochMilli(content.getLong());
+        Duration age = Duration.between(writtenAt, Instant.now());
+        if (age.compareTo(snapshotProperties.getMaxAge()) > 0) {
+            log.warn("Ignoring stale data snapshot written at {} (older than {}): {}",
+                    writtenAt, snapshotProperties.getMaxAge(), file);
+            return Set.of();
+        }
+
+        // Decode every entry before publishing any, so a bad entry never leaves a partial restore
+        List<SnapshotEntry> entries = new ArrayList<>();
+        try {
+            int entryCount = content.getInt();
+            for (int i = 0; i < entryCount; i++) {
+                String resourceType = readString(content);
+                String className = readString(content);
+                Instant storedAt = Instant.ofEpochMilli(content.getLong());
+                byte[] json = new byte[content.getInt()];
+                content.get(json);
+                entries.add(new SnapshotEntry(resourceType, readData(className, json), json, storedAt));
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated data snapshot entry", e);
+        }
+
+        Set<String> restored = new HashSet<>();
+        for (SnapshotEntry entry : entries) {
+            dataStore.restoreResource(entry.resourceType(), entry.data(), entry.json(), entry.storedAt());
+            restored.add(entry.resourceType());
+        }
+        log.info("Restored {} resource(s) from data snapshot written at {}: {}", restored.size(), writtenAt, file);
+        return restored;
+    }
+
+    /**
+     * Decodes the single element of the unified JSON array as the recorded class.
+     */
+    private Object readData(String className, byte[] json) throws IOException {
+        if (!className.startsWith(ALLOWED_PACKAGE_PREFIX)) {
+            throw new IOException("Refusing to restore data of type: " + className);
+        }
+        try {
+            Class<?> dataClass = Class.forName(className, false, getClass().getClassLoader());
+            JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, dataClass);
+            List<?> values = objectMapper.readValue(json, listType);
+            if (values.size() != 1 || values.get(0) == null) {
+                throw new IOException("Expected exactly one " + className + " in snapshot entry");
+            }
+            return values.get(0);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown data type in snapshot: " + className, e);
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record SnapshotEntry(String resourceType, Object data, byte[] json, Instant storedAt) {
+    }
+}
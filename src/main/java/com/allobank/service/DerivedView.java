@@ -0,0 +1,71 @@
+package com.allobank.service;
+
+import java.util.function.Function;
+
+/**
+ * A value derived from the stored data of one resource, such as a precomputed index or an
+ * encoded response, kept for the most recent entry it was derived from. Every published version
+ * of a resource is a new {@link StoredResource}, so the value is keyed by entry identity and
+ * derived again only when a different entry is passed in.
+ * <p>
+ * Once registered with the store, the value is derived on the storing thread as each version is
+ * published, ahead of the requests that need it. An entry that reaches the store without a
+ * notification, such as one restored from a snapshot, is derived on first use instead.
+ *
+ * @param <S> The type the resource's data is held as
+ * @param <T> The type of the derived value
+ */
+final class DerivedView<S, T> {
+
+    private final String resourceType;
+    private final Class<S> dataType;
+    private final Function<S, T> derivation;
+
+    private volatile Derived<T> current;
+
+    /**
+     * @param resourceType The resource the value is derived from
+     * @param dataType The type the resource's data is held as
+     * @param derivation Builds the value from the resource's data; must not depend on anything else
+     */
+    DerivedView(String resourceType, Class<S> dataType, Function<S, T> derivation) {
+        this.resourceType = resourceType;
+        this.dataType = dataType;
+        this.derivation = derivation;
+    }
+
+    /**
+     * Derives the value whenever a new version of the resource is published.
+     */
+    void deriveOnPublish(InMemoryDataStore dataStore) {
+        dataStore.addListener(resource -> {
+            if (resourceType.equals(resource.getResourceType())) {
+                get(resource);
+            }
+        });
+    }
+
+    /**
+     * Returns the value derived from the given entry, deriving it only if the entry differs
+     * from the one the current value was derived from.
+     *
+     * @param source A stored entry of the resource
+     */
+    T get(StoredResource source) {
+        Derived<T> derived = current;
+        if (derived != null && derived.source() == source) {
+            return derived.value();
+        }
+        if (!dataType.isInstance(source.getData())) {
+            throw new IllegalStateException("Stored " + resourceType + " is not held as a "
+                    + dataType.getSimpleName());
+        }
+
+        T value = derivation.apply(dataType.cast(source.getData()));
+        current = new Derived<>(source, value);
+        return value;
+    }
+
+    private record Derived<T>(StoredResource source, T value) {
+    }
+}
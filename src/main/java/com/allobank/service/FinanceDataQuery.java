@@ -0,0 +1,27 @@
+package com.allobank.service;
+
+import java.time.LocalDate;
+
+/**
+ * A request for one finance data resource, independent of the web stack serving it.
+ *
+ * @param resourceType The requested resource type
+ * @param from         Start of a historical date range, or null
+ * @param to           End of a historical date range, or null
+ * @param date         Point-in-time historical date, or null
+ * @param ifNoneMatch  The If-None-Match request header, or null
+ * @param format       The encoding negotiated from the Accept header; date queries are always JSON
+ * @param coding       The content coding negotiated from the Accept-Encoding header; date queries are
+ *                     never compressed
+ */
+public record FinanceDataQuery(String resourceType, LocalDate from, LocalDate to, LocalDate date,
+                               String ifNoneMatch, ResponseFormat format, ContentCoding coding) {
+
+    public boolean isDateQuery() {
+        return from != null || to != null || date != null;
+    }
+
+    public String path() {
+        return FinanceDataService.BASE_PATH + "/" + resourceType;
+    }
+}
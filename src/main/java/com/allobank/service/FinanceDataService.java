@@ -0,0 +1,298 @@
+package com.allobank.service;
+
+import com.allobank.model.HistoricalRateSeries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Request handling for the {@code /api/finance/data} resources that is shared by the servlet
+ * controller and the reactive handler. Each stack only decides how to wait for a read-through
+ * fetch and how to write the {@link ResponseEntity} built here; status codes, bodies, ETags and
+ * cache headers are identical in both serving modes.
+ */
+@Service
+@RequiredArgsConstructor
+public class FinanceDataService {
+
+    public static final String BASE_PATH = "/api/finance/data";
+
+    /**
+     * Metric tag for batch requests, which span several resource types.
+     */
+    public static final String BATCH_RESOURCE_TAG = "batch";
+
+    private static final String HISTORICAL_RESOURCE_TYPE = "historical_idr_usd";
+
+    static final Set<String> VALID_RESOURCE_TYPES = Set.of(
+            "latest_idr_rates",
+            HISTORICAL_RESOURCE_TYPE,
+            "supported_currencies"
+    );
+
+    private final InMemoryDataStore dataStore;
+    private final ResourceResponses responses;
+
+    /**
+     * Checks the resource type and date parameters.
+     *
+     * @return An error response, or null if the query is valid
+     */
+    public ResponseEntity<?> validate(FinanceDataQuery query) {
+        // Validate resource type using set-based lookup (no if/else chain)
+        if (!VALID_RESOURCE_TYPES.contains(query.resourceType())) {
+            return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Resource Type",
+                    "Resource type must be one of: " + String.join(", ", VALID_RESOURCE_TYPES), query.path());
+        }
+
+        if (query.isDateQuery()) {
+            String invalidQuery = validateDateQuery(query);
+            if (invalidQuery != null) {
+                return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Date Query", invalidQuery,
+                        query.path());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the stored resource (map-based lookup); each resource is ready on its own.
+     *
+     * @return The stored entry, or null on a miss
+     */
+    public StoredResource getResource(String resourceType) {
+        return dataStore.getResource(resourceType);
+    }
+
+    /**
+     * Builds the response for a validated query. While the resource's refreshes are failing,
+     * the last good snapshot is still served, flagged as stale with its age.
+     *
+     * @param resource The stored entry, or null if it is missing even after read-through
+     */
+    public ResponseEntity<?> respond(FinanceDataQuery query, StoredResource resource) {
+        if (resource == null) {
+            return responses.unavailable(query.resourceType(), query.path());
+        }
+        return responses.flagIfStale(query.resourceType(), respondFromStore(query, resource));
+    }
+
+    private ResponseEntity<?> respondFromStore(FinanceDataQuery query, StoredResource resource) {
+        if (query.isDateQuery()) {
+            return getHistoricalSlice(resource, query);
+        }
+
+        // The ETag is computed once per stored version, so revalidation never touches the body
+        ResponseFormat format = query.format();
+        ContentCoding coding = resource.availableCoding(format, query.coding());
+        String etag = resource.getEtag(format, coding);
+        CacheControl cacheControl = responses.cacheControlFor(query.resourceType());
+        if (ResourceResponses.matchesEtag(query.ifNoneMatch(), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        // Return the pre-encoded unified array (data wrapped in an array when stored) in the negotiated
+        // format, compressed when the stored variant was compressed for it
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (coding.getHeaderValue() != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, coding.getHeaderValue());
+        }
+        return builder.body(resource.getBody(format, coding));
+    }
+
+    /**
+     * Parses the comma-separated {@code types} parameter of a batch request, dropping blanks
+     * and duplicates while keeping the requested order.
+     *
+     * @return The requested types; empty if the parameter is missing or blank
+     */
+    public static List<String> parseTypes(String types) {
+        if (types == null) {
+            return List.of();
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String type : types.split(",")) {
+            if (!type.isBlank()) {
+                parsed.add(type.trim());
+            }
+        }
+        return List.copyOf(parsed);
+    }
+
+    /**
+     * Checks the resource types of a batch request.
+     *
+     * @return An error response, or null if every type is valid
+     */
+    public ResponseEntity<?> validateBatch(List<String> resourceTypes) {
+        if (resourceTypes.isEmpty()) {
+            return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Resource Type",
+                    "Parameter 'types' must list one or more of: " + String.join(", ", VALID_RESOURCE_TYPES),
+                    BASE_PATH);
+        }
+        for (String resourceType : resourceTypes) {
+            if (!VALID_RESOURCE_TYPES.contains(resourceType)) {
+                return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Resource Type",
+                        "Resource type must be one of: " + String.join(", ", VALID_RESOURCE_TYPES), BASE_PATH);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up every requested resource, reading missing ones through to upstream concurrently.
+     *
+     * @return A Mono emitting the available entries by resource type, in the requested order
+     */
+    public Mono<Map<String, StoredResource>> getResources(List<String> resourceTypes) {
+        return Flux.fromIterable(resourceTypes)
+                .flatMapSequential(responses::getOrLoad)
+                .collectMap(StoredResource::getResourceType, resource -> resource, LinkedHashMap::new);
+    }
+
+    /**
+     * Builds the response for a validated batch request: a JSON object that maps each resource
+     * type to its unified JSON array. The body is assembled from the stored bytes of each
+     * resource without re-serializing, and its ETag is derived from the resources' ETags.
+     * The batch fails as a whole, like a single request would, if any resource is missing, and
+     * is flagged as stale if any resource is.
+     *
+     * @param resources The available entries by resource type
+     */
+    public ResponseEntity<?> respondBatch(List<String> resourceTypes, Map<String, StoredResource> resources,
+                                         String ifNoneMatch) {
+        for (String resourceType : resourceTypes) {
+            if (!resources.containsKey(resourceType)) {
+                return responses.unavailable(resourceType, BASE_PATH);
+            }
+        }
+        return responses.flagIfStale(resourceTypes, respondFromStore(resourceTypes, resources, ifNoneMatch));
+    }
+
+    private ResponseEntity<?> respondFromStore(List<String> resourceTypes, Map<String, StoredResource> resources,
+                                               String ifNoneMatch) {
+        StringBuilder etags = new StringBuilder();
+        Duration maxAge = null;
+        boolean revalidate = false;
+        for (String resourceType : resourceTypes) {
+            etags.append(resources.get(resourceType).getEtag());
+            Optional<Duration> resourceMaxAge = responses.maxAgeFor(resourceType);
+            if (resourceMaxAge.isEmpty()) {
+                revalidate = true;
+            } else if (maxAge == null || resourceMaxAge.get().compareTo(maxAge) < 0) {
+                maxAge = resourceMaxAge.get();
+            }
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(etags.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        CacheControl cacheControl = revalidate ? CacheControl.noCache() : CacheControl.maxAge(maxAge);
+        if (ResourceResponses.matchesEtag(ifNoneMatch, etag)) {
+            return ResourceResponses.notModified(etag, cacheControl);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(concatenate(resourceTypes, resources));
+    }
+
+    /**
+     * Answers a range or point-in-time query by slicing the columnar series with binary search.
+     * Only the requested slice is materialized and serialized.
+     */
+    private ResponseEntity<?> getHistoricalSlice(StoredResource resource, FinanceDataQuery query) {
+        if (!(resource.getData() instanceof HistoricalRateSeries series)) {
+            throw new IllegalStateException("Historical data is not held as a rate series");
+        }
+
+        // A slice is a pure function of the stored version and the query, so its ETag is too
+        LocalDate date = query.date();
+        String range = date != null ? "asof-" + date : query.from() + ".." + query.to();
+        String etag = ResourceResponses.derivedEtag(resource, range);
+        CacheControl cacheControl = responses.cacheControlFor(HISTORICAL_RESOURCE_TYPE);
+        if (ResourceResponses.matchesEtag(query.ifNoneMatch(), etag)) {
+            return ResourceResponses.notModified(etag, cacheControl);
+        }
+
+        HistoricalRateSeries slice = date != null ? series.asOf(date) : series.slice(query.from(), query.to());
+        if (slice == null) {
+            return ResourceResponses.error(HttpStatus.NOT_FOUND, "Data Not Found",
+                    "No historical rate available on or before " + date, query.path());
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(List.of(slice));
+    }
+
+    /**
+     * @return A description of what is wrong with the date query, or null if it is valid
+     */
+    private static String validateDateQuery(FinanceDataQuery query) {
+        if (!HISTORICAL_RESOURCE_TYPE.equals(query.resourceType())) {
+            return "Date parameters are only supported for resource type: " + HISTORICAL_RESOURCE_TYPE;
+        }
+        if (query.date() != null && (query.from() != null || query.to() != null)) {
+            return "Use either 'date' or 'from'/'to', not both";
+        }
+        if (query.from() != null && query.to() != null && query.from().isAfter(query.to())) {
+            return "'from' must not be after 'to'";
+        }
+        return null;
+    }
+
+    /**
+     * Writes {@code {"type":<stored json>,...}} into one exactly sized array.
+     */
+    private static byte[] concatenate(List<String> resourceTypes, Map<String, StoredResource> resources) {
+        byte[][] keys = new byte[resourceTypes.size()][];
+        int length = 2 + resourceTypes.size() - 1;
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ("\"" + resourceTypes.get(i) + "\":").getBytes(StandardCharsets.UTF_8);
+            length += keys[i].length + resources.get(resourceTypes.get(i)).getJson().length;
+        }
+
+        byte[] body = new byte[length];
+        int position = 0;
+        body[position++] = '{';
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                body[position++] = ',';
+            }
+            System.arraycopy(keys[i], 0, body, position, keys[i].length);
+            position += keys[i].length;
+            byte[] json = resources.get(resourceTypes.get(i)).getJson();
+            System.arraycopy(json, 0, body, position, json.length);
+            position += json.length;
+        }
+        body[position] = '}';
+        return body;
+    }
+}
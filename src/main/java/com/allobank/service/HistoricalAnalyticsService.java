@@ -0,0 +1,136 @@
+package com.allobank.service;
+
+import com.allobank.dto.RateStatisticsResponse;
+import com.allobank.model.HistoricalRateAnalytics;
+import com.allobank.model.HistoricalRateSeries;
+import com.allobank.model.RangeStatistics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Answers range statistics requests for the stored historical series from the prefix
+ * aggregates of {@link HistoricalRateAnalytics}, so a request costs the same however many
+ * dates its range spans. The aggregates are built once per version of the series.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HistoricalAnalyticsService {
+
+    public static final String SOURCE_RESOURCE_TYPE = "historical_idr_usd";
+
+    public static final String STATISTICS_PATH = "/api/finance/rates/stats";
+
+    /**
+     * Metric tag for historical range statistics requests.
+     */
+    public static final String RESOURCE_TAG = "rate_stats";
+
+    /**
+     * Currency summarized by a statistics request that does not name one.
+     */
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    private final InMemoryDataStore dataStore;
+    private final ResourceResponses responses;
+
+    private final DerivedView<HistoricalRateSeries, HistoricalRateAnalytics> aggregates = new DerivedView<>(
+            SOURCE_RESOURCE_TYPE, HistoricalRateSeries.class, HistoricalAnalyticsService::buildAnalytics);
+
+    @PostConstruct
+    void registerListener() {
+        aggregates.deriveOnPublish(dataStore);
+    }
+
+    /**
+     * Returns the analytics derived from the given stored series.
+     *
+     * @param historical The stored {@code historical_idr_usd} entry
+     */
+    public HistoricalRateAnalytics getAnalytics(StoredResource historical) {
+        return aggregates.get(historical);
+    }
+
+    /**
+     * Looks up the stored historical series that range statistics are derived from, reading
+     * it through to upstream on a miss.
+     *
+     * @return A Mono emitting the stored entry, or empty if it could not be loaded
+     */
+    public Mono<StoredResource> getSource() {
+        return responses.getOrLoad(SOURCE_RESOURCE_TYPE);
+    }
+
+    /**
+     * Answers a statistics request for one currency over {@code [from, to]}. Either bound may be omitted.
+     *
+     * @param historical The stored historical series, or null if it is missing even after read-through
+     */
+    public ResponseEntity<?> respond(String currency, LocalDate from, LocalDate to, String ifNoneMatch,
+                                     StoredResource historical) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Date Query",
+                    "'from' must not be after 'to'", STATISTICS_PATH);
+        }
+        if (historical == null) {
+            return responses.unavailable(SOURCE_RESOURCE_TYPE, STATISTICS_PATH);
+        }
+
+        HistoricalRateAnalytics analytics = getAnalytics(historical);
+        String code = currency != null && !currency.isBlank()
+                ? currency.trim().toUpperCase(Locale.ROOT)
+                : DEFAULT_CURRENCY;
+        int column = analytics.currencyIndex(code);
+        if (column < 0) {
+            return ResourceResponses.error(HttpStatus.BAD_REQUEST, "Invalid Currency", "Unknown currency: " + code,
+                    STATISTICS_PATH);
+        }
+
+        // Like a historical slice, the answer is a pure function of the stored version and the query
+        String etag = ResourceResponses.derivedEtag(historical, "stats-" + code + "-" + from + ".." + to);
+        CacheControl cacheControl = responses.cacheControlFor(SOURCE_RESOURCE_TYPE);
+        if (ResourceResponses.matchesEtag(ifNoneMatch, etag)) {
+            return ResourceResponses.notModified(etag, cacheControl);
+        }
+
+        RangeStatistics statistics = analytics.statistics(column, from, to);
+        if (statistics == null) {
+            return ResourceResponses.error(HttpStatus.NOT_FOUND, "Data Not Found",
+                    "No historical " + code + " rates between " + from + " and " + to, STATISTICS_PATH);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(RateStatisticsResponse.builder()
+                        .base(analytics.getBase())
+                        .currency(code)
+                        .startDate(statistics.startDate())
+                        .endDate(statistics.endDate())
+                        .count(statistics.count())
+                        .min(statistics.min())
+                        .max(statistics.max())
+                        .mean(statistics.mean())
+                        .stddev(statistics.standardDeviation())
+                        .periodReturn(statistics.change())
+                        .build());
+    }
+
+    private static HistoricalRateAnalytics buildAnalytics(HistoricalRateSeries series) {
+        HistoricalRateAnalytics analytics = HistoricalRateAnalytics.from(series);
+        log.debug("Built range analytics over {} dates and {} currencies", series.size(),
+                series.getCurrencyCount());
+        return analytics;
+    }
+}
@@ -1,45 +1,150 @@
 package com.allobank.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Thread-safe in-memory data store for caching fetched data.
- * Once data is loaded, it becomes immutable.
+ * All entries live in one immutable snapshot map. Writers build a new snapshot
+ * and publish it with a single atomic reference swap, so readers never block
+ * and never observe a half-updated state.
+ * Each resource is encoded to its JSON, CBOR and Smile response bodies, plus gzip
+ * variants of them, when it is stored, so requests are served without re-serializing
+ * the DTO graph or compressing it.
+ * Listeners are notified after every published change.
  */
 @Slf4j
 @Service
 public class InMemoryDataStore {
 
-    private final Map<String, Object> dataStore = new ConcurrentHashMap<>();
+    private final AtomicReference<Map<String, StoredResource>> snapshot = new AtomicReference<>(Map.of());
     private final AtomicBoolean isDataLoaded = new AtomicBoolean(false);
+    private final List<Consumer<StoredResource>> listeners = new CopyOnWriteArrayList<>();
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> hitCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> missCounters = new ConcurrentHashMap<>();
+    private final Set<String> ageGauges = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a store with a standalone mapper configured like Spring Boot's default one.
+     */
+    public InMemoryDataStore() {
+        this(Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+
+    /**
+     * Creates a store whose metrics are kept in a private registry.
+     */
+    public InMemoryDataStore(ObjectMapper objectMapper) {
+        this(objectMapper, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public InMemoryDataStore(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        // Copies keep the modules and features of the JSON mapper, so every format holds the same document
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.meterRegistry = meterRegistry;
+    }
 
     /**
      * Stores data for a specific resource type.
-     * This method is thread-safe and can only be called during initialization.
+     * This method is thread-safe. After the initial load it is used by refreshes,
+     * which replace the entry by publishing a new snapshot.
+     * Data equal to the currently stored data is neither re-encoded nor republished.
+     * Listeners are notified only by the call whose swap published the new entry.
      *
      * @param resourceType The resource type identifier
      * @param data The data to store
+     * @return true if a new snapshot was published, false if the data was unchanged
      */
-    public void storeData(String resourceType, Object data) {
-        if (isDataLoaded.get()) {
-            log.warn("Attempt to store data after initialization phase. Resource: {}", resourceType);
-            return;
-        }
-        
+    public boolean storeData(String resourceType, Object data) {
         if (data == null) {
             throw new IllegalArgumentException("Data cannot be null for resource: " + resourceType);
         }
+
+        // Checked before encoding so a refresh of unchanged data costs nothing; checked again on the swap
+        if (isUnchanged(snapshot.get(), resourceType, data)) {
+            log.debug("Data unchanged for resource type: {}, keeping current snapshot", resourceType);
+            return false;
+        }
         
         // Create immutable wrapper if needed
         Object immutableData = makeImmutable(data);
-        dataStore.put(resourceType, immutableData);
-        log.debug("Stored data for resource type: {}", resourceType);
+        StoredResource resource = createResource(resourceType, immutableData,
+                encode(objectMapper, resourceType, immutableData), Instant.now());
+        if (!publishIfChanged(resource)) {
+            log.debug("Data for resource type: {} was stored concurrently, keeping current snapshot", resourceType);
+            return false;
+        }
+        log.debug("Stored data for resource type: {} ({} bytes encoded)", resourceType, resource.getJson().length);
+        notifyListeners(resource);
+        return true;
+    }
+
+    /**
+     * Publishes a resource restored from a persisted snapshot, reusing its encoded JSON.
+     * The binary encodings and gzip variants are not persisted and are re-encoded from the data.
+     * Listeners are not notified, since nothing changed since the snapshot was written.
+     *
+     * @param resourceType The resource type identifier
+     * @param data The rehydrated data
+     * @param json The unified JSON array the data was decoded from
+     * @param storedAt When the data was originally stored
+     */
+    void restoreResource(String resourceType, Object data, byte[] json, Instant storedAt) {
+        publish(createResource(resourceType, makeImmutable(data), json, storedAt));
+        log.debug("Restored data for resource type: {} ({} bytes encoded)", resourceType, json.length);
+    }
+
+    /**
+     * Registers a callback invoked, on the storing thread, after each newly published resource.
+     * A callback that throws is logged and does not keep the others from running.
+     *
+     * @param listener The callback receiving the published entry
+     */
+    public void addListener(Consumer<StoredResource> listener) {
+        listeners.add(listener);
     }
 
     /**
@@ -50,27 +155,66 @@ public class InMemoryDataStore {
      * @return The stored data, or null if not found
      */
     public Object getData(String resourceType) {
-        Object data = dataStore.get(resourceType);
-        if (data == null) {
+        StoredResource resource = getResource(resourceType);
+        return resource != null ? resource.getData() : null;
+    }
+
+    /**
+     * Retrieves the stored entry, including its pre-encoded JSON response body.
+     * Counted in the lookup hit and miss metrics, so only the request path should use it.
+     *
+     * @param resourceType The resource type identifier
+     * @return The stored entry, or null if not found
+     */
+    public StoredResource getResource(String resourceType) {
+        StoredResource resource = snapshot.get().get(resourceType);
+        if (resource == null) {
+            lookupCounter(missCounters, resourceType, "miss").increment();
             log.warn("No data found for resource type: {}", resourceType);
+        } else {
+            lookupCounter(hitCounters, resourceType, "hit").increment();
         }
-        return data;
+        return resource;
+    }
+
+    /**
+     * Retrieves the stored entry without recording a lookup, for internal reads such as
+     * refresh bookkeeping and stream subscriptions.
+     *
+     * @param resourceType The resource type identifier
+     * @return The stored entry, or null if not found
+     */
+    StoredResource peek(String resourceType) {
+        return snapshot.get().get(resourceType);
+    }
+
+    /**
+     * Checks if a resource can be served, i.e. it has been stored or restored at least once.
+     * Readiness is tracked per resource, so each one is served as soon as its own fetch completes.
+     *
+     * @param resourceType The resource type identifier
+     * @return true if the resource is present in the current snapshot
+     */
+    public boolean isResourceReady(String resourceType) {
+        return snapshot.get().containsKey(resourceType);
     }
 
     /**
-     * Marks the data loading as complete, making the store immutable.
+     * Marks the initial data loading as complete, once every initial fetch has finished.
+     * Later updates are only visible through atomic snapshot swaps.
      */
     public void markDataLoaded() {
         boolean wasLoaded = isDataLoaded.compareAndSet(false, true);
         if (wasLoaded) {
-            log.info("Data loading completed. Store is now immutable.");
+            log.info("Data loading completed. Further updates are published as new snapshots.");
         }
     }
 
     /**
-     * Checks if data has been loaded.
+     * Checks if the initial load has finished. Resources still missing afterwards
+     * failed to load, rather than still loading.
      *
-     * @return true if data loading is complete
+     * @return true if initial data loading is complete
      */
     public boolean isDataLoaded() {
         return isDataLoaded.get();
@@ -82,7 +226,142 @@ public class InMemoryDataStore {
      * @return Unmodifiable map of all data
      */
     public Map<String, Object> getAllData() {
-        return Collections.unmodifiableMap(dataStore);
+        Map<String, Object> allData = new LinkedHashMap<>();
+        snapshot.get().forEach((resourceType, resource) -> allData.put(resourceType, resource.getData()));
+        return Collections.unmodifiableMap(allData);
+    }
+
+    /**
+     * Returns all stored entries of the current snapshot.
+     *
+     * @return Unmodifiable collection of stored entries
+     */
+    public Collection<StoredResource> getResources() {
+        return snapshot.get().values();
+    }
+
+    /**
+     * The resource is already published when listeners run, so a failing listener must neither
+     * fail the store nor skip the listeners after it.
+     */
+    private void notifyListeners(StoredResource resource) {
+        for (Consumer<StoredResource> listener : listeners) {
+            try {
+                listener.accept(resource);
+            } catch (RuntimeException e) {
+                log.error("Listener failed for resource type: {}", resource.getResourceType(), e);
+            }
+        }
+    }
+
+    /**
+     * Swaps in a snapshot holding the resource unless the entry it would replace already holds
+     * equal data, so of concurrent writers storing the same data only one publishes it.
+     *
+     * @return true if this call's swap changed the entry
+     */
+    private boolean publishIfChanged(StoredResource resource) {
+        String resourceType = resource.getResourceType();
+        Map<String, StoredResource> entries;
+        Map<String, StoredResource> next;
+        do {
+            entries = snapshot.get();
+            if (isUnchanged(entries, resourceType, resource.getData())) {
+                return false;
+            }
+            next = new HashMap<>(entries);
+            next.put(resourceType, resource);
+            next = Map.copyOf(next);
+        } while (!snapshot.compareAndSet(entries, next));
+        registerAgeGauge(resourceType);
+        return true;
+    }
+
+    private static boolean isUnchanged(Map<String, StoredResource> entries, String resourceType, Object data) {
+        StoredResource current = entries.get(resourceType);
+        return current != null && current.getData().equals(data);
+    }
+
+    private void publish(StoredResource resource) {
+        snapshot.updateAndGet(entries -> {
+            Map<String, StoredResource> next = new HashMap<>(entries);
+            next.put(resource.getResourceType(), resource);
+            return Map.copyOf(next);
+        });
+        registerAgeGauge(resource.getResourceType());
+    }
+
+    /**
+     * Counters are cached per resource so lookups on the read path do not touch the registry.
+     */
+    private Counter lookupCounter(Map<String, Counter> counters, String resourceType, String result) {
+        return counters.computeIfAbsent(resourceType, type -> Counter.builder("finance.store.lookups")
+                .description("Store lookups per resource by result")
+                .tag("resource", type)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Time since the currently published version of the resource was stored.
+     */
+    private void registerAgeGauge(String resourceType) {
+        if (ageGauges.add(resourceType)) {
+            TimeGauge.builder("finance.store.snapshot.age", snapshot, TimeUnit.MILLISECONDS, entries -> {
+                        StoredResource current = entries.get().get(resourceType);
+                        return current != null
+                                ? Duration.between(current.getStoredAt(), Instant.now()).toMillis()
+                                : Double.NaN;
+                    })
+                    .description("Age of the published snapshot of each resource")
+                    .tag("resource", resourceType)
+                    .register(meterRegistry);
+        }
+    }
+
+    private StoredResource createResource(String resourceType, Object data, byte[] json, Instant storedAt) {
+        String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        byte[] cbor = encode(cborMapper, resourceType, data);
+        byte[] smile = encode(smileMapper, resourceType, data);
+
+        Map<ResponseFormat, byte[]> gzipped = new EnumMap<>(ResponseFormat.class);
+        addGzipped(gzipped, ResponseFormat.JSON, json);
+        addGzipped(gzipped, ResponseFormat.CBOR, cbor);
+        addGzipped(gzipped, ResponseFormat.SMILE, smile);
+        return new StoredResource(resourceType, data, json, cbor, smile, Collections.unmodifiableMap(gzipped), etag,
+                storedAt);
+    }
+
+    /**
+     * Compresses a body once, at the best level since the cost is paid per stored version
+     * rather than per request. The variant is only kept if it is smaller than the body.
+     */
+    private static void addGzipped(Map<ResponseFormat, byte[]> gzipped, ResponseFormat format, byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (out.size() < body.length) {
+            gzipped.put(format, out.toByteArray());
+        }
+    }
+
+    /**
+     * Encodes the data as the unified array response served by the controller, in the
+     * format of the given mapper.
+     */
+    private static byte[] encode(ObjectMapper mapper, String resourceType, Object data) {
+        try {
+            return mapper.writeValueAsBytes(List.of(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode data for resource: " + resourceType, e);
+        }
     }
 
     /**
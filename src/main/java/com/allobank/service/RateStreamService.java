@@ -0,0 +1,144 @@
+package com.allobank.service;
+
+import com.allobank.config.StreamProperties;
+import com.allobank.dto.LatestRatesResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes the latest IDR rates to stream subscribers whenever a changed snapshot is published.
+ * Each published version is encoded into one {@link RateUpdateEvent} on the storing thread and
+ * multicast to all subscribers, so a refresh costs one upstream fetch and one encoding however
+ * many clients listen. Every subscriber has its own bounded buffer; one that falls further behind
+ * is disconnected rather than holding back the others, and resumes from the current rates when it
+ * reconnects.
+ */
+@Slf4j
+@Service
+public class RateStreamService {
+
+    public static final String STREAM_PATH = "/api/finance/rates/stream";
+
+    private static final Duration EMIT_CONTENTION_TIMEOUT = Duration.ofMillis(100);
+
+    private final InMemoryDataStore dataStore;
+    private final ObjectMapper objectMapper;
+    private final StreamProperties properties;
+    private final Sinks.Many<RateUpdateEvent> updates = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter droppedSubscribers;
+
+    private volatile PublishedEvent current;
+
+    public RateStreamService(InMemoryDataStore dataStore, ObjectMapper objectMapper, StreamProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.dataStore = dataStore;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        Gauge.builder("finance.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open rate update streams")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("finance.stream.dropped")
+                .description("Rate update streams closed because the subscriber fell behind")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void registerListener() {
+        dataStore.addListener(resource -> {
+            if (CrossRateService.SOURCE_RESOURCE_TYPE.equals(resource.getResourceType())) {
+                // Emissions from concurrent refreshes are serialized by retrying for a short while
+                updates.emitNext(eventFor(resource), Sinks.EmitFailureHandler.busyLooping(EMIT_CONTENTION_TIMEOUT));
+            }
+        });
+    }
+
+    /**
+     * Opens a stream of the current rates followed by every later change, interleaved with heartbeats.
+     * The current rates are skipped if the client already has them, as when an {@code EventSource}
+     * reconnects with the id of the last event it received.
+     *
+     * @param lastEventId The {@code Last-Event-ID} request header, or null
+     */
+    public Flux<RateUpdateEvent> subscribe(String lastEventId) {
+        // Subscribing to the sink before reading the current rates means no change is missed in between
+        Flux<RateUpdateEvent> changes = Flux.merge(updates.asFlux(), Mono.fromSupplier(this::currentEvent))
+                .distinctUntilChanged(RateUpdateEvent::id)
+                .skipWhile(event -> event.id().equals(lastEventId));
+        Flux<RateUpdateEvent> heartbeats = Flux.interval(properties.getHeartbeatInterval())
+                .map(tick -> RateUpdateEvent.HEARTBEAT);
+
+        return Flux.merge(changes, heartbeats)
+                .onBackpressureBuffer(properties.getBufferSize(), this::dropSlowSubscriber,
+                        BufferOverflowStrategy.ERROR)
+                .onErrorResume(Exceptions::isOverflow, error -> Mono.empty())
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    /**
+     * Returns the number of open streams.
+     */
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * The overflowing subscriber has already been detached from the updates; its buffered events
+     * are still delivered before its stream completes.
+     */
+    private void dropSlowSubscriber(RateUpdateEvent overflow) {
+        droppedSubscribers.increment();
+        log.warn("Closing rate update stream of a subscriber more than {} events behind", properties.getBufferSize());
+    }
+
+    /**
+     * The event of the stored rates, which may have been restored from a snapshot without a notification.
+     */
+    private RateUpdateEvent currentEvent() {
+        StoredResource latest = dataStore.peek(CrossRateService.SOURCE_RESOURCE_TYPE);
+        return latest != null ? eventFor(latest) : null;
+    }
+
+    /**
+     * Encodes the event only if the entry differs from the one the current event was built from.
+     */
+    private RateUpdateEvent eventFor(StoredResource latest) {
+        PublishedEvent published = current;
+        if (published != null && published.source() == latest) {
+            return published.event();
+        }
+        if (!(latest.getData() instanceof LatestRatesResponse rates)) {
+            throw new IllegalStateException("Latest rates are not held as a LatestRatesResponse");
+        }
+
+        String etag = latest.getEtag();
+        try {
+            published = new PublishedEvent(latest, RateUpdateEvent.of(etag.substring(1, etag.length() - 1),
+                    objectMapper.writeValueAsString(rates)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode latest rates event", e);
+        }
+        current = published;
+        log.debug("Encoded rate update event {}", published.event().id());
+        return published.event();
+    }
+
+    private record PublishedEvent(StoredResource source, RateUpdateEvent event) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.allobank.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One Server-Sent Event of the rate update stream, encoded once and shared by every subscriber.
+ *
+ * @param id The event id, the ETag of the stored rates without quotes; null for heartbeats
+ * @param json The JSON encoding of the {@code LatestRatesResponse}; null for heartbeats
+ * @param frame The complete {@code text/event-stream} frame, ready to be written as is
+ */
+public record RateUpdateEvent(String id, String json, byte[] frame) {
+
+    public static final String EVENT_NAME = "latest_idr_rates";
+
+    static final RateUpdateEvent HEARTBEAT = new RateUpdateEvent(null, null,
+            ":\n\n".getBytes(StandardCharsets.UTF_8));
+
+    static RateUpdateEvent of(String id, String json) {
+        String frame = "id:" + id + "\nevent:" + EVENT_NAME + "\ndata:" + json + "\n\n";
+        return new RateUpdateEvent(id, json, frame.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isHeartbeat() {
+        return id == null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.allobank.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request latency of the finance endpoints, recorded identically by the servlet controllers
+ * and the reactive handler.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetrics {
+
+    private static final Set<String> RESOURCE_TAGS = resourceTags();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<RequestOutcome, Timer> timers = new ConcurrentHashMap<>();
+
+    public Timer.Sample startRequest() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records request latency per resource and status, with percentiles. Unknown resource
+     * types share one tag value to keep the metric's cardinality bounded. Timers are cached per
+     * resource and status so requests do not rebuild them in the registry.
+     *
+     * @param resourceTag The requested resource type, or the tag of the endpoint
+     */
+    public void recordRequest(Timer.Sample sample, String resourceTag, ResponseEntity<?> response) {
+        RequestOutcome outcome = new RequestOutcome(RESOURCE_TAGS.contains(resourceTag) ? resourceTag : "invalid",
+                response.getStatusCode().value());
+        sample.stop(timers.computeIfAbsent(outcome, key -> Timer.builder("finance.requests")
+                .description("Finance data request latency per resource")
+                .tag("resource", key.resource())
+                .tag("status", String.valueOf(key.status()))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)));
+    }
+
+    private static Set<String> resourceTags() {
+        Set<String> tags = new HashSet<>(FinanceDataService.VALID_RESOURCE_TYPES);
+        tags.add(FinanceDataService.BATCH_RESOURCE_TAG);
+        tags.add(CrossRateService.RESOURCE_TAG);
+        tags.add(ConversionService.RESOURCE_TAG);
+        tags.add(SpreadQuoteService.RESOURCE_TAG);
+        tags.add(HistoricalAnalyticsService.RESOURCE_TAG);
+        return Set.copyOf(tags);
+    }
+
+    private record RequestOutcome(String resource, int status) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.allobank.service;
+
+import com.allobank.dto.ApiErrorResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Building blocks shared by the endpoints that serve stored resources or views derived from
+ * them: read-through lookup, error bodies, staleness headers, cache lifetimes and ETag
+ * revalidation. Keeping them in one place keeps those parts of the responses identical
+ * across endpoints and serving modes.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceResponses {
+
+    /**
+     * Set to {@code true} on a resource served while its refreshes are failing.
+     */
+    public static final String STALE_HEADER = "X-Data-Stale";
+
+    /**
+     * Age in seconds of a stale resource, counted from its last successful fetch.
+     */
+    public static final String DATA_AGE_HEADER = "X-Data-Age";
+
+    private final InMemoryDataStore dataStore;
+    private final DataRefreshService refreshService;
+
+    /**
+     * Looks up a stored resource, reading it through to upstream on a miss.
+     *
+     * @return A Mono emitting the stored entry, or empty if it could not be loaded
+     */
+    public Mono<StoredResource> getOrLoad(String resourceType) {
+        return Mono.justOrEmpty(dataStore.getResource(resourceType))
+                .switchIfEmpty(Mono.defer(() -> refreshService.fetchOnDemand(resourceType)));
+    }
+
+    public static ResponseEntity<ApiErrorResponse> error(HttpStatus status, String error, String message,
+                                                         String path) {
+        ApiErrorResponse body = ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .path(path)
+                .build();
+        return ResponseEntity.status(status).body(body);
+    }
+
+    /**
+     * The response for a resource that is missing even after read-through.
+     */
+    public ResponseEntity<ApiErrorResponse> unavailable(String resourceType, String path) {
+        if (!dataStore.isDataLoaded()) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Data Not Ready",
+                    "Data is still being loaded. Please try again in a moment.", path);
+        }
+        return error(HttpStatus.NOT_FOUND, "Data Not Found",
+                "No data available for resource type: " + resourceType, path);
+    }
+
+    /**
+     * Flags the response as stale, with its age, while the resource's refreshes are failing.
+     */
+    public ResponseEntity<?> flagIfStale(String resourceType, ResponseEntity<?> response) {
+        return flagIfStale(List.of(resourceType), response);
+    }
+
+    /**
+     * Flags a response built from several resources as stale while any of their refreshes
+     * are failing, with the age of the oldest.
+     */
+    public ResponseEntity<?> flagIfStale(List<String> resourceTypes, ResponseEntity<?> response) {
+        Optional<Duration> staleAge = resourceTypes.stream()
+                .map(refreshService::getStaleAge)
+                .flatMap(Optional::stream)
+                .max(Duration::compareTo);
+        if (staleAge.isEmpty()) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(STALE_HEADER, "true")
+                .header(DATA_AGE_HEADER, String.valueOf(staleAge.get().toSeconds()))
+                .body(response.getBody());
+    }
+
+    /**
+     * Derives max-age from the resource's next scheduled refresh.
+     * Resources that are not refreshed, or whose refreshes are failing, must always be revalidated.
+     */
+    public CacheControl cacheControlFor(String resourceType) {
+        return maxAgeFor(resourceType)
+                .map(CacheControl::maxAge)
+                .orElseGet(CacheControl::noCache);
+    }
+
+    /**
+     * @return The time until the resource's next refresh, or empty if it must always be revalidated
+     */
+    public Optional<Duration> maxAgeFor(String resourceType) {
+        if (refreshService.getStaleAge(resourceType).isPresent()) {
+            return Optional.empty();
+        }
+        return refreshService.getNextRefreshTime(resourceType)
+                .map(nextRefresh -> Duration.between(Instant.now(), nextRefresh))
+                .map(maxAge -> maxAge.isNegative() ? Duration.ZERO : maxAge);
+    }
+
+    /**
+     * The ETag of a view that is a pure function of the stored version and {@code suffix}.
+     */
+    public static String derivedEtag(StoredResource source, String suffix) {
+        String etag = source.getEtag();
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    public static ResponseEntity<?> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    /**
+     * Weak comparison of If-None-Match candidates, as required for GET requests.
+     */
+    public static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+package com.allobank.service;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Encodings in which {@link InMemoryDataStore} keeps each resource. JSON is the public
+ * contract; CBOR and Smile are binary encodings of the same document for internal consumers.
+ */
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"), "-smile");
+
+    private final MediaType mediaType;
+
+    /**
+     * Appended to the JSON ETag, since each encoding is a different representation.
+     */
+    private final String etagSuffix;
+
+    ResponseFormat(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    String etag(String jsonEtag) {
+        return etagSuffix.isEmpty()
+                ? jsonEtag
+                : jsonEtag.substring(0, jsonEtag.length() - 1) + etagSuffix + "\"";
+    }
+
+    /**
+     * Picks the format for an Accept header. A binary format is only chosen when it is
+     * named explicitly and preferred over JSON; wildcards, a missing or malformed header
+     * all get JSON, so external clients keep the unchanged contract.
+     *
+     * @param accept The Accept request header, or null
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        return mediaTypes.stream()
+                .filter(mediaType -> mediaType.getQualityValue() > 0)
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .map(ResponseFormat::of)
+                .filter(format -> format != null)
+                .findFirst()
+                .orElse(JSON);
+    }
+
+    private static ResponseFormat of(MediaType mediaType) {
+        if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+            return JSON;
+        }
+        for (ResponseFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.allobank.service;
+
+import com.allobank.config.SpreadFactor;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.SpreadQuoteTable;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Answers spread quote requests with the buy and sell quotes, in IDR, of every currency of the
+ * stored latest IDR rates. The {@link SpreadQuoteTable} is computed at the configured spread
+ * factor and encoded to JSON together, once per version of the rates, so a request only writes
+ * the encoded bytes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpreadQuoteService {
+
+    public static final String SPREAD_QUOTES_PATH = "/api/finance/rates/spread";
+
+    /**
+     * Metric tag for spread quote requests.
+     */
+    public static final String RESOURCE_TAG = "spread_quotes";
+
+    private final InMemoryDataStore dataStore;
+    private final ObjectMapper objectMapper;
+    private final ResourceResponses responses;
+    private final SpreadFactor spreadFactor;
+
+    private final DerivedView<LatestRatesResponse, EncodedQuotes> quotes =
+            new DerivedView<>(CrossRateService.SOURCE_RESOURCE_TYPE, LatestRatesResponse.class, this::buildQuotes);
+
+    @PostConstruct
+    void registerListener() {
+        quotes.deriveOnPublish(dataStore);
+    }
+
+    /**
+     * Returns the quotes derived from the given stored latest rates.
+     *
+     * @param latest The stored {@code latest_idr_rates} entry
+     */
+    public SpreadQuoteTable getTable(StoredResource latest) {
+        return quotes.get(latest).table();
+    }
+
+    /**
+     * Returns the JSON encoding of {@link #getTable}, encoded once per derived table.
+     *
+     * @param latest The stored {@code latest_idr_rates} entry
+     */
+    public byte[] getJson(StoredResource latest) {
+        return quotes.get(latest).json();
+    }
+
+    /**
+     * Answers a spread quote request with the buy and sell quotes of every currency.
+     *
+     * @param latest The stored latest rates, or null if they are missing even after read-through
+     */
+    public ResponseEntity<?> respond(String ifNoneMatch, StoredResource latest) {
+        if (latest == null) {
+            return responses.unavailable(CrossRateService.SOURCE_RESOURCE_TYPE, SPREAD_QUOTES_PATH);
+        }
+
+        String etag = ResourceResponses.derivedEtag(latest, "spread");
+        CacheControl cacheControl = responses.cacheControlFor(CrossRateService.SOURCE_RESOURCE_TYPE);
+        if (ResourceResponses.matchesEtag(ifNoneMatch, etag)) {
+            return ResourceResponses.notModified(etag, cacheControl);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(getJson(latest));
+    }
+
+    private EncodedQuotes buildQuotes(LatestRatesResponse rates) {
+        SpreadQuoteTable table = SpreadQuoteTable.from(rates, spreadFactor.getUnits());
+        EncodedQuotes encoded;
+        try {
+            encoded = new EncodedQuotes(table, objectMapper.writeValueAsBytes(table));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode spread quotes", e);
+        }
+        log.debug("Built spread quotes for {} currencies on {}", table.size(), table.getDate());
+        return encoded;
+    }
+
+    private record EncodedQuotes(SpreadQuoteTable table, byte[] json) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.allobank.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Immutable entry held by {@link InMemoryDataStore}.
+ * Keeps the stored DTO together with its final response bodies, JSON and the binary
+ * encodings, which are encoded once when the entry is created and written as-is on every request.
+ * Gzip variants of the bodies are compressed at the same time.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class StoredResource {
+
+    private final String resourceType;
+    private final Object data;
+
+    /**
+     * The unified JSON array response ({@code [data]}).
+     * Shared with every reader, so callers must never modify it.
+     */
+    private final byte[] json;
+
+    /**
+     * The same array encoded as CBOR and as Smile; shared like {@link #json}.
+     */
+    private final byte[] cbor;
+    private final byte[] smile;
+
+    /**
+     * Gzip-compressed bodies by format. Formats whose body does not shrink under
+     * compression have no entry and are always served uncompressed.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<ResponseFormat, byte[]> gzipped;
+
+    /**
+     * Strong ETag of {@link #json}, computed once per stored version.
+     */
+    private final String etag;
+
+    private final Instant storedAt;
+
+    /**
+     * @return The pre-encoded response body in the given format
+     */
+    public byte[] getBody(ResponseFormat format) {
+        return switch (format) {
+            case JSON -> json;
+            case CBOR -> cbor;
+            case SMILE -> smile;
+        };
+    }
+
+    /**
+     * @return The pre-encoded response body in the given format and coding; the coding must be
+     * one returned by {@link #availableCoding}
+     */
+    public byte[] getBody(ResponseFormat format, ContentCoding coding) {
+        return coding == ContentCoding.GZIP ? gzipped.get(format) : getBody(format);
+    }
+
+    /**
+     * @return The requested coding if this entry holds a variant of the format in it, otherwise identity
+     */
+    public ContentCoding availableCoding(ResponseFormat format, ContentCoding requested) {
+        return requested == ContentCoding.GZIP && gzipped.containsKey(format) ? requested : ContentCoding.IDENTITY;
+    }
+
+    /**
+     * @return The ETag of the body in the given format, derived from the JSON ETag
+     */
+    public String getEtag(ResponseFormat format) {
+        return format.etag(etag);
+    }
+
+    /**
+     * @return The ETag of the body in the given format and coding
+     */
+    public String getEtag(ResponseFormat format, ContentCoding coding) {
+        return coding.etag(format.etag(etag));
+    }
+}
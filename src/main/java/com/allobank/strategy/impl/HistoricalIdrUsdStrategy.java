@@ -1,14 +1,33 @@
 package com.allobank.strategy.impl;
 
 import com.allobank.config.FrankfurterApiProperties;
-import com.allobank.dto.HistoricalRatesResponse;
+import com.allobank.model.HistoricalRateSeries;
+import com.allobank.model.HistoricalRateSeriesParser;
 import com.allobank.strategy.IDRDataFetcher;
+import com.allobank.util.UpstreamErrors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fetches the configured historical range as a backfill: the range is split into windows
+ * that are fetched concurrently with bounded parallelism, retried individually on
+ * transient failures, and merged in date order into one columnar series.
+ * Each response is parsed token by token as it streams in, straight into the columnar
+ * structure, so neither the full body nor an intermediate map is ever held in memory.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -21,11 +40,28 @@ public class HistoricalIdrUsdStrategy implements IDRDataFetcher {
 
     @Override
     public Mono<Object> fetchData() {
-        log.info("Fetching historical IDR to USD rates from Frankfurter API");
-        
         var historical = apiProperties.getHistorical();
-        String dateRange = String.format("%s..%s", historical.getStartDate(), historical.getEndDate());
-        
+
+        return Flux.defer(() -> {
+                    List<DateWindow> windows = splitIntoWindows(
+                            LocalDate.parse(historical.getStartDate()),
+                            LocalDate.parse(historical.getEndDate()),
+                            historical.getWindowDays());
+                    log.info("Fetching historical IDR to USD rates from Frankfurter API in {} window(s)",
+                            windows.size());
+                    return Flux.fromIterable(windows);
+                })
+                .flatMapSequential(this::fetchWindow, Math.max(1, historical.getParallelism()))
+                .reduceWith(HistoricalRateSeries::builder, HistoricalIdrUsdStrategy::merge)
+                .map(HistoricalRateSeries.Builder::build)
+                .cast(Object.class)
+                .doOnError(error -> log.error("Error fetching historical IDR to USD rates", error));
+    }
+
+    private Mono<HistoricalRateSeries> fetchWindow(DateWindow window) {
+        var historical = apiProperties.getHistorical();
+        String dateRange = String.format("%s..%s", window.start(), window.end());
+
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/{dateRange}")
@@ -33,9 +69,72 @@ public class HistoricalIdrUsdStrategy implements IDRDataFetcher {
                         .queryParam("to", historical.getToCurrency())
                         .build(dateRange))
                 .retrieve()
-                .bodyToMono(HistoricalRatesResponse.class)
-                .cast(Object.class)
-                .doOnError(error -> log.error("Error fetching historical IDR to USD rates", error));
+                .bodyToFlux(DataBuffer.class)
+                .as(HistoricalIdrUsdStrategy::parseSeries)
+                .retryWhen(Retry.backoff(historical.getMaxRetries(), historical.getRetryBackoff())
+                        .filter(UpstreamErrors::isTransient)
+                        .doBeforeRetry(signal -> log.warn("Retrying historical window {} (attempt {})",
+                                dateRange, signal.totalRetries() + 1, signal.failure()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * Feeds each body chunk to a non-blocking parser as it arrives and releases it immediately.
+     */
+    private static Mono<HistoricalRateSeries> parseSeries(Flux<DataBuffer> body) {
+        return Mono.using(HistoricalRateSeriesParser::nonBlocking,
+                parser -> body
+                        .doOnNext(buffer -> feed(parser, buffer))
+                        .then(Mono.fromCallable(parser::finish)),
+                HistoricalRateSeriesParser::close)
+                .onErrorMap(IOException.class,
+                        error -> new DecodingException("Malformed historical rates response", error));
+    }
+
+    private static void feed(HistoricalRateSeriesParser parser, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+            while (chunks.hasNext()) {
+                parser.feed(chunks.next());
+            }
+        } catch (IOException e) {
+            throw new DecodingException("Malformed historical rates response", e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Appends a window to the series. Windows arrive in date order; a window may repeat
+     * the previous business day of its start date, which the builder collapses.
+     */
+    private static HistoricalRateSeries.Builder merge(HistoricalRateSeries.Builder builder,
+                                                      HistoricalRateSeries window) {
+        builder.amount(window.getAmount())
+                .base(window.getBase())
+                .endDate(window.getEndDate());
+        if (builder.getStartDate() == null) {
+            builder.startDate(window.getStartDate());
+        }
+        return builder.addSeries(window);
+    }
+
+    static List<DateWindow> splitIntoWindows(LocalDate start, LocalDate end, int windowDays) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Historical end date " + end + " is before start date " + start);
+        }
+        if (windowDays <= 0) {
+            return List.of(new DateWindow(start, end));
+        }
+
+        List<DateWindow> windows = new ArrayList<>();
+        for (LocalDate windowStart = start; !windowStart.isAfter(end); windowStart = windowStart.plusDays(windowDays)) {
+            LocalDate windowEnd = windowStart.plusDays(windowDays - 1L);
+            windows.add(new DateWindow(windowStart, windowEnd.isAfter(end) ? end : windowEnd));
+        }
+        return windows;
+    }
+
+    record DateWindow(LocalDate start, LocalDate end) {
     }
 
     @Override
@@ -43,4 +142,3 @@ public class HistoricalIdrUsdStrategy implements IDRDataFetcher {
         return RESOURCE_TYPE;
     }
 }
-
@@ -1,17 +1,22 @@
 package com.allobank.strategy.impl;
 
 import com.allobank.config.FrankfurterApiProperties;
+import com.allobank.config.SpreadFactor;
 import com.allobank.dto.LatestRatesResponse;
 import com.allobank.strategy.IDRDataFetcher;
 import com.allobank.util.SpreadCalculator;
+import com.allobank.util.UpstreamErrors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Component
@@ -23,26 +28,63 @@ public class LatestIdrRatesStrategy implements IDRDataFetcher {
 
     private final WebClient webClient;
     private final FrankfurterApiProperties apiProperties;
-
-    @Value("${github.username}")
-    private String githubUsername;
+    private final SpreadFactor spreadFactor;
 
     @Override
     public Mono<Object> fetchData() {
         log.info("Fetching latest IDR rates from Frankfurter API");
-        
-        return webClient.get()
+        var resilience = apiProperties.getResilience();
+
+        Mono<LatestRatesResponse> request = webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/latest")
                         .queryParam("base", "IDR")
                         .build())
                 .retrieve()
-                .bodyToMono(LatestRatesResponse.class)
+                .bodyToMono(LatestRatesResponse.class);
+        return hedge(request, resilience.getHedgeDelay())
+                .retryWhen(UpstreamErrors.retry(resilience, "latest IDR rates"))
                 .map(this::enrichWithSpread)
                 .cast(Object.class)
                 .doOnError(error -> log.error("Error fetching latest IDR rates", error));
     }
 
+    /**
+     * Sends a second, identical request if the first has not answered within the delay.
+     * The first response wins and the other request is cancelled; a failure of one request
+     * does not end the race while the other may still answer, so a slow connection or
+     * upstream instance costs at most the delay plus one fast response. A failure that
+     * arrives before the delay is not hedged; it is left to the retries.
+     */
+    private static Mono<LatestRatesResponse> hedge(Mono<LatestRatesResponse> request, Duration delay) {
+        if (delay == null || delay.isZero() || delay.isNegative()) {
+            return request;
+        }
+        return Mono.defer(() -> {
+            AtomicBoolean primaryFailed = new AtomicBoolean();
+            Mono<LatestRatesResponse> primary = request.doOnError(error -> primaryFailed.set(true));
+            Mono<LatestRatesResponse> hedged = Mono.delay(delay)
+                    .filter(tick -> !primaryFailed.get())
+                    .flatMap(tick -> {
+                        log.debug("Hedging latest IDR rates request after {}", delay);
+                        return request;
+                    });
+            return Mono.firstWithValue(primary, hedged)
+                    .onErrorMap(LatestIdrRatesStrategy::firstCause);
+        });
+    }
+
+    /**
+     * When neither request answers, reports the first request's failure rather than the aggregate,
+     * so the retries classify it like an unhedged one.
+     */
+    private static Throwable firstCause(Throwable error) {
+        if (error instanceof NoSuchElementException && error.getCause() != null) {
+            return Exceptions.unwrapMultiple(error.getCause()).get(0);
+        }
+        return error;
+    }
+
     private LatestRatesResponse enrichWithSpread(LatestRatesResponse response) {
         if (response == null || response.getRates() == null) {
             throw new IllegalStateException("Invalid response from API");
@@ -53,10 +95,9 @@ public class LatestIdrRatesStrategy implements IDRDataFetcher {
             throw new IllegalStateException("USD rate not found in response");
         }
 
-        BigDecimal spreadFactor = SpreadCalculator.calculateSpreadFactor(githubUsername);
-        BigDecimal usdBuySpreadIdr = SpreadCalculator.calculateUsdBuySpreadIdr(usdRate, spreadFactor);
+        BigDecimal usdBuySpreadIdr = SpreadCalculator.calculateUsdBuySpreadIdr(usdRate, spreadFactor.getUnits());
 
-        log.debug("Calculated spread factor: {}, USD_BuySpread_IDR: {}", spreadFactor, usdBuySpreadIdr);
+        log.debug("Calculated spread factor: {}, USD_BuySpread_IDR: {}", spreadFactor.toBigDecimal(), usdBuySpreadIdr);
 
         return LatestRatesResponse.builder()
                 .amount(response.getAmount())
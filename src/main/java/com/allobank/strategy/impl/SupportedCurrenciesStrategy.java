@@ -1,7 +1,9 @@
 package com.allobank.strategy.impl;
 
+import com.allobank.config.FrankfurterApiProperties;
 import com.allobank.dto.CurrenciesResponse;
 import com.allobank.strategy.IDRDataFetcher;
+import com.allobank.util.UpstreamErrors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -16,6 +18,7 @@ public class SupportedCurrenciesStrategy implements IDRDataFetcher {
     private static final String RESOURCE_TYPE = "supported_currencies";
 
     private final WebClient webClient;
+    private final FrankfurterApiProperties apiProperties;
 
     @Override
     public Mono<Object> fetchData() {
@@ -25,6 +28,7 @@ public class SupportedCurrenciesStrategy implements IDRDataFetcher {
                 .uri("/currencies")
                 .retrieve()
                 .bodyToMono(CurrenciesResponse.class)
+                .retryWhen(UpstreamErrors.retry(apiProperties.getResilience(), "supported currencies"))
                 .cast(Object.class)
                 .doOnError(error -> log.error("Error fetching supported currencies", error));
     }
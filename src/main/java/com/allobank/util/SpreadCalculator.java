@@ -3,11 +3,37 @@ package com.allobank.util;
 import lombok.experimental.UtilityClass;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 
 @UtilityClass
 public class SpreadCalculator {
 
+    /**
+     * Scale of the spread factor; a spread factor is {@code units / 100000}.
+     */
+    public static final int SPREAD_FACTOR_SCALE = 5;
+
+    /**
+     * Scale of USD_BuySpread_IDR values.
+     */
+    public static final int RESULT_SCALE = 10;
+
+    /**
+     * Returned by {@link #calculateUsdBuySpreadIdrUnscaled} when the result cannot be computed
+     * exactly in a long; callers then fall back to {@link #calculateUsdBuySpreadIdr(BigDecimal, BigDecimal)}.
+     */
+    public static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    private static final long SPREAD_FACTOR_ONE = 100_000L;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
     /**
      * Calculates the spread factor based on GitHub username.
      * Formula: Spread Factor = (Sum of Unicode Values % 1000) / 100000.0
@@ -16,16 +42,23 @@ public class SpreadCalculator {
      * @return The spread factor between 0.00000 and 0.00999
      */
     public static BigDecimal calculateSpreadFactor(String githubUsername) {
+        return BigDecimal.valueOf(calculateSpreadFactorUnits(githubUsername), SPREAD_FACTOR_SCALE);
+    }
+
+    /**
+     * Calculates the spread factor in units of 0.00001, i.e. its unscaled value at {@link #SPREAD_FACTOR_SCALE}.
+     *
+     * @param githubUsername The GitHub username (will be converted to lowercase)
+     * @return The spread factor units between 0 and 999
+     */
+    public static int calculateSpreadFactorUnits(String githubUsername) {
         if (githubUsername == null || githubUsername.isEmpty()) {
             throw new IllegalArgumentException("GitHub username cannot be null or empty");
         }
 
         String lowerUsername = githubUsername.toLowerCase();
         int sumOfUnicode = lowerUsername.chars().sum();
-        int modulo = sumOfUnicode % 1000;
-        
-        return BigDecimal.valueOf(modulo)
-                .divide(BigDecimal.valueOf(100000.0), 5, RoundingMode.HALF_UP);
+        return sumOfUnicode % 1000;
     }
 
     /**
@@ -49,5 +82,190 @@ public class SpreadCalculator {
         return inverseRate.multiply(onePlusSpread)
                 .setScale(10, RoundingMode.HALF_UP);
     }
-}
 
+    /**
+     * Calculates the sell-side counterpart of a buy spread quote: (1 / Rate) * (1 - Spread Factor),
+     * rounded like {@link #calculateUsdBuySpreadIdr(BigDecimal, BigDecimal)}.
+     *
+     * @param rate The rate of a currency from API when base=IDR
+     * @param spreadFactor The spread factor calculated from GitHub username
+     * @return The IDR received per unit of the currency sold, at {@link #RESULT_SCALE}
+     */
+    public static BigDecimal calculateSellSpreadIdr(BigDecimal rate, BigDecimal spreadFactor) {
+        if (rate == null || rate.compareTo(BigDecimal.ZERO) == 0) {
+            throw new IllegalArgumentException("Rate cannot be null or zero");
+        }
+        if (spreadFactor == null) {
+            throw new IllegalArgumentException("Spread factor cannot be null");
+        }
+
+        BigDecimal inverseRate = BigDecimal.ONE.divide(rate, RESULT_SCALE, RoundingMode.HALF_UP);
+        return inverseRate.multiply(BigDecimal.ONE.subtract(spreadFactor))
+                .setScale(RESULT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Calculates USD_BuySpread_IDR using the fixed-point path where possible.
+     * The result is identical to {@link #calculateUsdBuySpreadIdr(BigDecimal, BigDecimal)}.
+     *
+     * @param usdRate The USD rate from API when base=IDR
+     * @param spreadFactorUnits The spread factor in units of 0.00001
+     * @return The USD buy spread IDR value at {@link #RESULT_SCALE}
+     */
+    public static BigDecimal calculateUsdBuySpreadIdr(BigDecimal usdRate, int spreadFactorUnits) {
+        if (usdRate == null || usdRate.signum() == 0) {
+            throw new IllegalArgumentException("USD rate cannot be null or zero");
+        }
+        if (usdRate.unscaledValue().bitLength() < Long.SIZE) {
+            long unscaled = calculateUsdBuySpreadIdrUnscaled(
+                    usdRate.unscaledValue().longValue(), usdRate.scale(), spreadFactorUnits);
+            if (unscaled != NOT_REPRESENTABLE) {
+                return BigDecimal.valueOf(unscaled, RESULT_SCALE);
+            }
+        }
+        return calculateUsdBuySpreadIdr(usdRate, BigDecimal.valueOf(spreadFactorUnits, SPREAD_FACTOR_SCALE));
+    }
+
+    /**
+     * Calculates the sell spread quote using the fixed-point path where possible.
+     * The result is identical to {@link #calculateSellSpreadIdr(BigDecimal, BigDecimal)}.
+     *
+     * @param rate The rate of a currency from API when base=IDR
+     * @param spreadFactorUnits The spread factor in units of 0.00001
+     * @return The sell spread quote at {@link #RESULT_SCALE}
+     */
+    public static BigDecimal calculateSellSpreadIdr(BigDecimal rate, int spreadFactorUnits) {
+        if (rate == null || rate.signum() == 0) {
+            throw new IllegalArgumentException("Rate cannot be null or zero");
+        }
+        if (rate.unscaledValue().bitLength() < Long.SIZE) {
+            long unscaled = calculateSellSpreadIdrUnscaled(
+                    rate.unscaledValue().longValue(), rate.scale(), spreadFactorUnits);
+            if (unscaled != NOT_REPRESENTABLE) {
+                return BigDecimal.valueOf(unscaled, RESULT_SCALE);
+            }
+        }
+        return calculateSellSpreadIdr(rate, BigDecimal.valueOf(spreadFactorUnits, SPREAD_FACTOR_SCALE));
+    }
+
+    /**
+     * Applies the buy spread to a mid rate. Buying a currency at the spread costs
+     * (1 + Spread Factor) times the mid price, so each unit of the source currency yields
+     * {@code mid / (1 + spread)} units of the target; for IDR to USD this is the inverse of
+     * USD_BuySpread_IDR. The spread is applied as the exact ratio 100000 / (100000 + units),
+     * so the only rounding is that of the result.
+     *
+     * @param midRate Units of the target currency per unit of the source currency
+     * @param spreadFactorUnits The spread factor in units of 0.00001
+     * @param mathContext The precision and rounding of the result
+     * @return The rate mid / (1 + Spread Factor)
+     */
+    public static BigDecimal applyBuySpread(BigDecimal midRate, int spreadFactorUnits, MathContext mathContext) {
+        if (midRate == null) {
+            throw new IllegalArgumentException("Rate cannot be null");
+        }
+        if (spreadFactorUnits < 0) {
+            throw new IllegalArgumentException("Spread factor cannot be negative");
+        }
+        return midRate.multiply(BigDecimal.valueOf(SPREAD_FACTOR_ONE))
+                .divide(BigDecimal.valueOf(SPREAD_FACTOR_ONE + spreadFactorUnits), mathContext);
+    }
+
+    /**
+     * Allocation-free USD_BuySpread_IDR on scaled longs, rounding exactly like the BigDecimal version:
+     * the inverse is rounded HALF_UP to {@link #RESULT_SCALE}, then the product with (1 + spread) is.
+     * Since {@code inverse * (1 + s) = inverse + inverse * s} and inverse is already at the result
+     * scale, only the spread term needs rounding, which keeps intermediates within a long.
+     *
+     * @param usdRateUnscaled The unscaled value of the USD rate
+     * @param usdRateScale The scale of the USD rate
+     * @param spreadFactorUnits The spread factor in units of 0.00001
+     * @return The unscaled result at {@link #RESULT_SCALE}, or {@link #NOT_REPRESENTABLE}
+     */
+    public static long calculateUsdBuySpreadIdrUnscaled(long usdRateUnscaled, int usdRateScale,
+                                                        int spreadFactorUnits) {
+        if (usdRateUnscaled == 0) {
+            throw new IllegalArgumentException("USD rate cannot be null or zero");
+        }
+        if (spreadFactorUnits < 0) {
+            throw new IllegalArgumentException("Spread factor cannot be negative");
+        }
+
+        long inverse = inverseUnscaled(usdRateUnscaled, usdRateScale);
+        if (inverse == NOT_REPRESENTABLE) {
+            return NOT_REPRESENTABLE;
+        }
+
+        if (spreadFactorUnits != 0 && inverse > Long.MAX_VALUE / spreadFactorUnits) {
+            return NOT_REPRESENTABLE;
+        }
+        long spread = divideHalfUp(inverse * spreadFactorUnits, SPREAD_FACTOR_ONE);
+        if (inverse > Long.MAX_VALUE - spread) {
+            return NOT_REPRESENTABLE;
+        }
+
+        long result = inverse + spread;
+        return usdRateUnscaled < 0 ? -result : result;
+    }
+
+    /**
+     * Allocation-free counterpart of {@link #calculateSellSpreadIdr(BigDecimal, BigDecimal)}.
+     * Rounding {@code inverse - inverse * s} HALF_UP is the same as subtracting the spread term
+     * rounded HALF_DOWN, so like the buy side only the spread term needs rounding.
+     *
+     * @param rateUnscaled The unscaled value of the rate
+     * @param rateScale The scale of the rate
+     * @param spreadFactorUnits The spread factor in units of 0.00001
+     * @return The unscaled result at {@link #RESULT_SCALE}, or {@link #NOT_REPRESENTABLE}
+     */
+    public static long calculateSellSpreadIdrUnscaled(long rateUnscaled, int rateScale, int spreadFactorUnits) {
+        if (rateUnscaled == 0) {
+            throw new IllegalArgumentException("Rate cannot be null or zero");
+        }
+        if (spreadFactorUnits < 0) {
+            throw new IllegalArgumentException("Spread factor cannot be negative");
+        }
+        if (spreadFactorUnits > SPREAD_FACTOR_ONE) {
+            return NOT_REPRESENTABLE;
+        }
+
+        long inverse = inverseUnscaled(rateUnscaled, rateScale);
+        if (inverse == NOT_REPRESENTABLE
+                || (spreadFactorUnits != 0 && inverse > Long.MAX_VALUE / spreadFactorUnits)) {
+            return NOT_REPRESENTABLE;
+        }
+
+        long result = inverse - divideHalfDown(inverse * spreadFactorUnits, SPREAD_FACTOR_ONE);
+        return rateUnscaled < 0 ? -result : result;
+    }
+
+    /**
+     * The magnitude of 1 / rate rounded HALF_UP to {@link #RESULT_SCALE}, or {@link #NOT_REPRESENTABLE}.
+     */
+    private static long inverseUnscaled(long rateUnscaled, int rateScale) {
+        // 1 / (u * 10^-s) at scale 10 is 10^(10 + s) / u
+        int exponent = RESULT_SCALE + rateScale;
+        if (exponent < 0 || exponent >= POWERS_OF_TEN.length || rateUnscaled == Long.MIN_VALUE) {
+            return NOT_REPRESENTABLE;
+        }
+        return divideHalfUp(POWERS_OF_TEN[exponent], Math.abs(rateUnscaled));
+    }
+
+    /**
+     * HALF_UP division of non-negative values.
+     */
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend - quotient * divisor;
+        return remainder >= divisor - remainder ? quotient + 1 : quotient;
+    }
+
+    /**
+     * HALF_DOWN division of non-negative values.
+     */
+    private static long divideHalfDown(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend - quotient * divisor;
+        return remainder > divisor - remainder ? quotient + 1 : quotient;
+    }
+}
@@ -0,0 +1,48 @@
+package com.allobank.util;
+
+import com.allobank.config.FrankfurterApiProperties;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.util.retry.Retry;
+
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@UtilityClass
+public class UpstreamErrors {
+
+    /**
+     * Decides whether a failed upstream call is worth retrying.
+     * Network errors, timeouts, 429 and 5xx responses are transient; other 4xx responses are not.
+     *
+     * @param error The error raised by the WebClient call
+     * @return true if the same request may succeed when retried
+     */
+    public static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    /**
+     * Jittered exponential backoff for transient failures of one upstream call.
+     * Once retries are exhausted, the last failure is propagated as-is.
+     *
+     * @param resilience The retry settings
+     * @param description What is being fetched, for the retry log
+     */
+    public static Retry retry(FrankfurterApiProperties.Resilience resilience, String description) {
+        return Retry.backoff(resilience.getMaxRetries(), resilience.getRetryBackoff())
+                .maxBackoff(resilience.getMaxRetryBackoff())
+                .jitter(resilience.getRetryJitter())
+                .filter(UpstreamErrors::isTransient)
+                .doBeforeRetry(signal -> log.warn("Retrying fetch of {} (attempt {})",
+                        description, signal.totalRetries() + 1, signal.failure()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+}
@@ -0,0 +1,104 @@
+package com.allobank.controller;
+
+import com.allobank.config.ConversionProperties;
+import com.allobank.config.SpreadFactor;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.service.ConversionService;
+import com.allobank.service.CrossRateService;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResourceResponses;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConversionControllerTest {
+
+    @Mock
+    private DataRefreshService refreshService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryDataStore dataStore;
+    private ConversionController controller;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        ResourceResponses responses = new ResourceResponses(dataStore, refreshService);
+        CrossRateService crossRateService = new CrossRateService(dataStore, responses);
+        controller = new ConversionController(new ConversionService(crossRateService, new ConversionProperties(),
+                new SpreadFactor("testuser")), crossRateService, responses, new RequestMetrics(meterRegistry));
+        dataStore.markDataLoaded();
+    }
+
+    @Test
+    void testConvert_StreamsResultsWithRatesDate() throws Exception {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal("0.0000625")))
+                .build());
+
+        // Act
+        ResponseEntity<?> response = controller.convert(false,
+                body("[{\"from\":\"USD\",\"to\":\"IDR\",\"amount\":2}]"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("2024-01-05", response.getHeaders().getFirst(ConversionService.RATES_DATE_HEADER));
+        assertEquals("[{\"from\":\"USD\",\"to\":\"IDR\",\"amount\":2,\"rate\":16000,\"converted\":32000}]",
+                out.toString(StandardCharsets.UTF_8));
+        assertEquals(1, meterRegistry.get("finance.requests")
+                .tags("resource", "convert", "status", "200").timer().count());
+    }
+
+    @Test
+    void testConvert_MalformedBodyIsRejectedBeforeLookup() {
+        // Act
+        ResponseEntity<?> response = controller.convert(false, body("[{\"from\":\"USD\"}]"));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(refreshService);
+    }
+
+    @Test
+    void testConvert_MissingRatesReadThroughToUpstream() {
+        // Arrange
+        when(refreshService.fetchOnDemand("latest_idr_rates")).thenReturn(Mono.empty());
+
+        // Act
+        ResponseEntity<?> response = controller.convert(false, body("[]"));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,127 @@
+package com.allobank.controller;
+
+import com.allobank.dto.CrossRatesResponse;
+import com.allobank.service.CrossRateService;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.RateFixtures;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResourceResponses;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CrossRateControllerTest {
+
+    @Mock
+    private DataRefreshService refreshService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryDataStore dataStore;
+    private CrossRateService crossRateService;
+    private CrossRateController controller;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        crossRateService = new CrossRateService(dataStore, new ResourceResponses(dataStore, refreshService));
+        controller = new CrossRateController(crossRateService, new RequestMetrics(meterRegistry));
+
+        dataStore.storeData("latest_idr_rates", RateFixtures.latestRates("0.000064"));
+        dataStore.markDataLoaded();
+    }
+
+    @Test
+    void testGetCrossRates_ReturnsPairFromMatrix() {
+        // Act
+        ResponseEntity<?> response = controller.getCrossRates("usd", "EUR", null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        CrossRatesResponse body = (CrossRatesResponse) response.getBody();
+        assertEquals("USD", body.getBase());
+        assertEquals(LocalDate.of(2024, 1, 5), body.getDate());
+        assertEquals(0.000058 / 0.000064, body.getRates().get("EUR"), 1e-12);
+        assertEquals(1, body.getRates().size());
+        verify(refreshService, never()).fetchOnDemand(any());
+    }
+
+    @Test
+    void testGetCrossRates_WithoutTargetReturnsWholeRow() {
+        // Act
+        ResponseEntity<?> response = controller.getCrossRates("EUR", null, null);
+
+        // Assert
+        CrossRatesResponse body = (CrossRatesResponse) response.getBody();
+        assertEquals(List.of("IDR", "USD"), List.copyOf(body.getRates().keySet()));
+        assertEquals(1 / 0.000058, body.getRates().get("IDR"), 1e-6);
+    }
+
+    @Test
+    void testGetCrossRates_MatrixFollowsRefreshedRates() {
+        // Arrange
+        ResponseEntity<?> before = controller.getCrossRates("IDR", "USD", null);
+
+        // Act
+        dataStore.storeData("latest_idr_rates", RateFixtures.latestRates("0.000065"));
+        ResponseEntity<?> after = controller.getCrossRates("IDR", "USD", before.getHeaders().getETag());
+
+        // Assert
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertEquals(0.000065, ((CrossRatesResponse) after.getBody()).getRates().get("USD"), 1e-15);
+        assertSame(crossRateService.getMatrix(dataStore.getResource("latest_idr_rates")),
+                crossRateService.getMatrix(dataStore.getResource("latest_idr_rates")));
+    }
+
+    @Test
+    void testGetCrossRates_MatchingIfNoneMatchReturnsNotModified() {
+        // Arrange
+        String etag = controller.getCrossRates("USD", "EUR", null).getHeaders().getETag();
+
+        // Act
+        ResponseEntity<?> response = controller.getCrossRates("USD", "EUR", etag);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNotEquals(dataStore.getResource("latest_idr_rates").getEtag(), etag);
+    }
+
+    @Test
+    void testGetCrossRates_InvalidRequests() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getCrossRates(null, "USD", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getCrossRates("USD", "GBP", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getCrossRates("XYZ", null, null).getStatusCode());
+        assertEquals(3, meterRegistry.get("finance.requests")
+                .tags("resource", "cross_rates", "status", "400").timer().count());
+    }
+
+    @Test
+    void testGetCrossRates_MissingRatesReadThroughToUpstream() {
+        // Arrange
+        InMemoryDataStore emptyStore = new InMemoryDataStore();
+        emptyStore.markDataLoaded();
+        CrossRateController emptyController = new CrossRateController(new CrossRateService(emptyStore,
+                new ResourceResponses(emptyStore, refreshService)), new RequestMetrics(meterRegistry));
+        when(refreshService.fetchOnDemand("latest_idr_rates")).thenReturn(Mono.empty());
+
+        // Act
+        ResponseEntity<?> response = emptyController.getCrossRates("USD", "EUR", null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(refreshService).fetchOnDemand("latest_idr_rates");
+    }
+}
@@ -0,0 +1,430 @@
+package com.allobank.controller;
+
+import com.allobank.dto.ApiErrorResponse;
+import com.allobank.model.HistoricalRateSeries;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.FinanceDataService;
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResourceResponses;
+import com.allobank.service.StoredResource;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FinanceDataControllerTest {
+
+    @Mock
+    private DataRefreshService refreshService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryDataStore dataStore;
+    private FinanceDataController controller;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        FinanceDataService financeDataService = new FinanceDataService(dataStore,
+                new ResourceResponses(dataStore, refreshService));
+        controller = new FinanceDataController(financeDataService, refreshService, new RequestMetrics(meterRegistry));
+        lenient().when(refreshService.getReadThroughTimeout()).thenReturn(Duration.ofSeconds(10));
+
+        dataStore.storeData("supported_currencies", "currencies");
+        dataStore.storeData("historical_idr_usd", HistoricalRateSeries.builder()
+                .base("IDR")
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("0.000064"))
+                .addRate(LocalDate.of(2024, 1, 3), "USD", new BigDecimal("0.000065"))
+                .addRate(LocalDate.of(2024, 1, 5), "USD", new BigDecimal("0.000066"))
+                .build());
+        dataStore.markDataLoaded();
+    }
+
+    @Test
+    void testGetFinanceData_ReturnsPreEncodedBodyWithEtag() {
+        // Arrange
+        when(refreshService.getNextRefreshTime("supported_currencies"))
+                .thenReturn(Optional.of(Instant.now().plusSeconds(600)));
+
+        // Act
+        ResponseEntity<?> response = controller.getFinanceData("supported_currencies",
+                null, null, null, null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[\"currencies\"]", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+        assertEquals(dataStore.getResource("supported_currencies").getEtag(), response.getHeaders().getETag());
+        String cacheControl = response.getHeaders().getCacheControl();
+        assertNotNull(cacheControl);
+        assertTrue(cacheControl.startsWith("max-age="));
+        long maxAge = Long.parseLong(cacheControl.substring("max-age=".length()));
+        assertTrue(maxAge > 590 && maxAge <= 600, "max-age should follow the next refresh time");
+    }
+
+    @Test
+    void testGetFinanceData_AcceptBinaryFormatServesPreEncodedVariant() throws Exception {
+        // Act
+        ResponseEntity<?> cbor = controller.getFinanceData("historical_idr_usd", null, null, null, null,
+                "application/cbor", null);
+        ResponseEntity<?> smile = controller.getFinanceData("historical_idr_usd", null, null, null, null,
+                "application/json;q=0.5, application/x-jackson-smile", null);
+        ResponseEntity<?> json = controller.getFinanceData("historical_idr_usd", null, null, null, null,
+                "application/cbor;q=0.5, application/json", null);
+
+        // Assert
+        StoredResource resource = dataStore.getResource("historical_idr_usd");
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        assertSame(resource.getCbor(), cbor.getBody());
+        assertEquals("application/x-jackson-smile", smile.getHeaders().getContentType().toString());
+        assertSame(resource.getSmile(), smile.getBody());
+        assertSame(resource.getJson(), json.getBody());
+        assertEquals(new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                        .readTree(resource.getJson()),
+                new ObjectMapper(new CBORFactory()).readTree((byte[]) cbor.getBody()));
+        assertEquals(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), cbor.getHeaders().getVary());
+        assertNotEquals(json.getHeaders().getETag(), cbor.getHeaders().getETag());
+        assertNotEquals(cbor.getHeaders().getETag(), smile.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetFinanceData_WildcardOrMalformedAcceptServesJson() {
+        // Act & Assert
+        for (String accept : new String[]{"*/*", "application/*", "text/html", "not a media type"}) {
+            ResponseEntity<?> response = controller.getFinanceData("supported_currencies", null, null, null, null,
+                    accept, null);
+            assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType(), accept);
+            assertEquals(dataStore.getResource("supported_currencies").getEtag(), response.getHeaders().getETag());
+        }
+    }
+
+    @Test
+    void testGetFinanceData_CborEtagRevalidatesOnlyCbor() {
+        // Arrange
+        String etag = controller.getFinanceData("supported_currencies", null, null, null, null,
+                "application/cbor", null).getHeaders().getETag();
+
+        // Act
+        ResponseEntity<?> cbor = controller.getFinanceData("supported_currencies", null, null, null, etag,
+                "application/cbor", null);
+        ResponseEntity<?> json = controller.getFinanceData("supported_currencies", null, null, null, etag, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, cbor.getStatusCode());
+        assertEquals(HttpStatus.OK, json.getStatusCode());
+    }
+
+    @Test
+    void testGetFinanceData_AcceptEncodingGzipServesPreCompressedVariant() throws Exception {
+        // Act
+        ResponseEntity<?> gzip = controller.getFinanceData("historical_idr_usd", null, null, null, null, null,
+                "br;q=1.0, gzip;q=0.8, *;q=0.1");
+        ResponseEntity<?> again = controller.getFinanceData("historical_idr_usd", null, null, null, null, null,
+                "gzip");
+        ResponseEntity<?> refused = controller.getFinanceData("historical_idr_usd", null, null, null, null, null,
+                "gzip;q=0, *");
+
+        // Assert
+        StoredResource resource = dataStore.getResource("historical_idr_usd");
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertSame(gzip.getBody(), again.getBody());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) gzip.getBody()))) {
+            assertArrayEquals(resource.getJson(), in.readAllBytes());
+        }
+        assertEquals(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), gzip.getHeaders().getVary());
+        assertNotEquals(resource.getEtag(), gzip.getHeaders().getETag());
+        assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertSame(resource.getJson(), refused.getBody());
+    }
+
+    @Test
+    void testGetFinanceData_BodyThatDoesNotShrinkIsServedUncompressed() {
+        // Act
+        ResponseEntity<?> response = controller.getFinanceData("supported_currencies", null, null, null, null, null,
+                "gzip");
+
+        // Assert
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(dataStore.getResource("supported_currencies").getEtag(), response.getHeaders().getETag());
+        assertEquals("[\"currencies\"]", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testGetFinanceData_StaleSnapshotIsServedWithItsAge() {
+        // Arrange
+        when(refreshService.getStaleAge("supported_currencies")).thenReturn(Optional.of(Duration.ofSeconds(90)));
+
+        // Act
+        ResponseEntity<?> response = controller.getFinanceData("supported_currencies", null, null, null, null, null,
+                null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[\"currencies\"]", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+        assertEquals("true", response.getHeaders().getFirst(ResourceResponses.STALE_HEADER));
+        assertEquals("90", response.getHeaders().getFirst(ResourceResponses.DATA_AGE_HEADER));
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertEquals(dataStore.getResource("supported_currencies").getEtag(), response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetFinanceData_MatchingIfNoneMatchReturnsNotModified() {
+        // Arrange
+        when(refreshService.getNextRefreshTime("supported_currencies")).thenReturn(Optional.empty());
+        String etag = dataStore.getResource("supported_currencies").getEtag();
+
+        // Act
+        ResponseEntity<?> response = controller.getFinanceData("supported_currencies", null, null, null,
+                "\"other\", W/" + etag, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testGetFinanceData_StaleIfNoneMatchReturnsBody() {
+        // Arrange
+        when(refreshService.getNextRefreshTime("supported_currencies")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<?> response = controller.getFinanceData("supported_currencies", null, null, null,
+                "\"stale\"", null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+    }
+
+    @Test
+    void testGetFinanceData_ServesEachResourceAsSoonAsItIsStored() {
+        // Arrange
+        InMemoryDataStore loadingStore = new InMemoryDataStore();
+        FinanceDataController loadingController = new FinanceDataController(
+                new FinanceDataService(loadingStore, new ResourceResponses(loadingStore, refreshService)),
+                refreshService, new RequestMetrics(meterRegistry));
+        loadingStore.storeData("supported_currencies", "currencies");
+
+        // Act
+        ResponseEntity<?> ready = loadingController.getFinanceData("supported_currencies",
+                null, null, null, null, null, null);
+        ResponseEntity<?> loading = loadingController.getFinanceData("latest_idr_rates",
+                null, null, null, null, null, null);
+        loadingStore.markDataLoaded();
+        ResponseEntity<?> failed = loadingController.getFinanceData("latest_idr_rates",
+                null, null, null, null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, ready.getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, loading.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, failed.getStatusCode());
+    }
+
+    @Test
+    void testGetFinanceData_MissReadsThroughToUpstream() {
+        // Arrange
+        InMemoryDataStore upstream = new InMemoryDataStore();
+        upstream.storeData("latest_idr_rates", "latest");
+        when(refreshService.loadOnDemand("latest_idr_rates"))
+                .thenReturn(Optional.of(upstream.getResource("latest_idr_rates")));
+
+        // Act
+        ResponseEntity<?> response = controller.getFinanceData("latest_idr_rates", null, null, null, null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[\"latest\"]", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testGetFinanceData_RecordsRequestLatencyPerResourceAndStatus() {
+        // Act
+        controller.getFinanceData("supported_currencies", null, null, null, null, null, null);
+        controller.getFinanceData("supported_currencies", null, null, null, null, null, null);
+        controller.getFinanceData("no_such_resource", null, null, null, null, null, null);
+
+        // Assert
+        assertEquals(2, meterRegistry.get("finance.requests")
+                .tags("resource", "supported_currencies", "status", "200").timer().count());
+        assertEquals(1, meterRegistry.get("finance.requests")
+                .tags("resource", "invalid", "status", "400").timer().count());
+    }
+
+    @Test
+    void testGetFinanceData_InvalidResourceType() {
+        ResponseEntity<?> response = controller.getFinanceData("invalid_resource", null, null, null, null, null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testGetFinanceData_HistoricalRangeReturnsOnlySlice() {
+        // Act
+        ResponseEntity<?> response = controller.getFinanceData("historical_idr_usd",
+                LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 4), null, null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        HistoricalRateSeries slice = (HistoricalRateSeries) ((List<?>) response.getBody()).get(0);
+        assertEquals(1, slice.size());
+        assertEquals(LocalDate.of(2024, 1, 3), slice.getStartDate());
+        assertEquals(LocalDate.of(2024, 1, 3), slice.getEndDate());
+    }
+
+    @Test
+    void testGetFinanceData_HistoricalPointInTimeUsesPreviousDate() {
+        // Act
+        ResponseEntity<?> response = controller.getFinanceData("historical_idr_usd",
+                null, null, LocalDate.of(2024, 1, 4), null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        HistoricalRateSeries point = (HistoricalRateSeries) ((List<?>) response.getBody()).get(0);
+        assertEquals(1, point.size());
+        assertEquals(LocalDate.of(2024, 1, 3), point.getDate(0));
+        assertEquals(new BigDecimal("0.000065"), point.getRate(point.currencyIndex("USD"), 0));
+    }
+
+    @Test
+    void testGetFinanceData_HistoricalPointBeforeSeriesNotFound() {
+        ResponseEntity<?> response = controller.getFinanceData("historical_idr_usd",
+                null, null, LocalDate.of(2023, 12, 31), null, null, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testGetFinanceData_HistoricalSliceEtagRevalidates() {
+        // Arrange
+        ResponseEntity<?> first = controller.getFinanceData("historical_idr_usd",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3), null, null, null, null);
+
+        // Act
+        ResponseEntity<?> second = controller.getFinanceData("historical_idr_usd",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 3), null, first.getHeaders().getETag(), null, null);
+
+        // Assert
+        assertNotEquals(dataStore.getResource("historical_idr_usd").getEtag(), first.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+    }
+
+    @Test
+    void testGetFinanceData_InvalidDateQueries() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getFinanceData("latest_idr_rates",
+                LocalDate.of(2024, 1, 1), null, null, null, null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getFinanceData("historical_idr_usd",
+                LocalDate.of(2024, 1, 1), null, LocalDate.of(2024, 1, 2), null, null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getFinanceData("historical_idr_usd",
+                LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 1), null, null, null, null).getStatusCode());
+    }
+
+    @Test
+    void testGetFinanceDataBatch_ConcatenatesStoredBodiesInRequestedOrder() {
+        // Arrange
+        when(refreshService.getNextRefreshTime("supported_currencies"))
+                .thenReturn(Optional.of(Instant.now().plusSeconds(600)));
+        when(refreshService.getNextRefreshTime("historical_idr_usd"))
+                .thenReturn(Optional.of(Instant.now().plusSeconds(60)));
+        String historicalJson = new String(dataStore.getResource("historical_idr_usd").getJson(),
+                StandardCharsets.UTF_8);
+
+        // Act
+        ResponseEntity<?> response = controller.getFinanceDataBatch(
+                "supported_currencies, historical_idr_usd,supported_currencies", null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"supported_currencies\":[\"currencies\"],\"historical_idr_usd\":" + historicalJson + "}",
+                new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+        long maxAge = Long.parseLong(response.getHeaders().getCacheControl().substring("max-age=".length()));
+        assertTrue(maxAge > 50 && maxAge <= 60, "max-age should follow the earliest refresh");
+        assertEquals(1, meterRegistry.get("finance.requests")
+                .tags("resource", "batch", "status", "200").timer().count());
+    }
+
+    @Test
+    void testGetFinanceDataBatch_EtagChangesWithAnyResource() {
+        // Arrange
+        ResponseEntity<?> first = controller.getFinanceDataBatch("supported_currencies,historical_idr_usd", null);
+
+        // Act
+        ResponseEntity<?> revalidated = controller.getFinanceDataBatch("supported_currencies,historical_idr_usd",
+                first.getHeaders().getETag());
+        dataStore.storeData("supported_currencies", "updated");
+        ResponseEntity<?> changed = controller.getFinanceDataBatch("supported_currencies,historical_idr_usd",
+                first.getHeaders().getETag());
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(first.getHeaders().getETag(), changed.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetFinanceDataBatch_MissingResourceReadsThroughAndFailsBatch() {
+        // Arrange
+        when(refreshService.fetchOnDemand("latest_idr_rates")).thenReturn(Mono.empty());
+
+        // Act
+        ResponseEntity<?> response = controller.getFinanceDataBatch("supported_currencies,latest_idr_rates", null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(FinanceDataService.BASE_PATH, ((ApiErrorResponse) response.getBody()).getPath());
+        verify(refreshService).fetchOnDemand("latest_idr_rates");
+    }
+
+    @Test
+    void testGetFinanceDataBatch_StaleResourceFlagsBatchWithOldestAge() {
+        // Arrange
+        when(refreshService.getStaleAge("supported_currencies")).thenReturn(Optional.of(Duration.ofSeconds(90)));
+        when(refreshService.getStaleAge("historical_idr_usd")).thenReturn(Optional.of(Duration.ofSeconds(30)));
+
+        // Act
+        ResponseEntity<?> response = controller.getFinanceDataBatch("supported_currencies,historical_idr_usd", null);
+        ResponseEntity<?> revalidated = controller.getFinanceDataBatch("supported_currencies,historical_idr_usd",
+                response.getHeaders().getETag());
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("true", response.getHeaders().getFirst(ResourceResponses.STALE_HEADER));
+        assertEquals("90", response.getHeaders().getFirst(ResourceResponses.DATA_AGE_HEADER));
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals("true", revalidated.getHeaders().getFirst(ResourceResponses.STALE_HEADER));
+    }
+
+    @Test
+    void testGetFinanceDataBatch_InvalidTypes() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getFinanceDataBatch(null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getFinanceDataBatch(" , ", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.getFinanceDataBatch("supported_currencies,invalid_resource", null).getStatusCode());
+    }
+}
@@ -0,0 +1,324 @@
+package com.allobank.controller;
+
+import com.allobank.config.ConversionProperties;
+import com.allobank.config.SpreadFactor;
+import com.allobank.config.StreamProperties;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.HistoricalRateSeries;
+import com.allobank.service.ContentCoding;
+import com.allobank.service.ConversionService;
+import com.allobank.service.CrossRateService;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.FinanceDataService;
+import com.allobank.service.HistoricalAnalyticsService;
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.RateStreamService;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResourceResponses;
+import com.allobank.service.ResponseFormat;
+import com.allobank.service.SpreadQuoteService;
+import com.allobank.service.StoredResource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FinanceDataHandlerTest {
+
+    @Mock
+    private DataRefreshService refreshService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryDataStore dataStore;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        ResourceResponses responses = new ResourceResponses(dataStore, refreshService);
+        CrossRateService crossRateService = new CrossRateService(dataStore, responses);
+        SpreadFactor spreadFactor = new SpreadFactor("testuser");
+        SpreadQuoteService spreadQuoteService = new SpreadQuoteService(dataStore, new ObjectMapper(), responses,
+                spreadFactor);
+        ConversionService conversionService = new ConversionService(crossRateService, new ConversionProperties(),
+                spreadFactor);
+        ObjectMapper streamMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        RateStreamService rateStreamService = new RateStreamService(dataStore, streamMapper, new StreamProperties(),
+                meterRegistry);
+        FinanceDataHandler handler = new FinanceDataHandler(new FinanceDataService(dataStore, responses),
+                crossRateService, spreadQuoteService, new HistoricalAnalyticsService(dataStore, responses),
+                conversionService, rateStreamService, responses, refreshService, new RequestMetrics(meterRegistry));
+        webTestClient = WebTestClient.bindToRouterFunction(new FinanceDataRouter().financeDataRoutes(handler))
+                .build();
+
+        dataStore.storeData("supported_currencies", "currencies");
+        dataStore.storeData("historical_idr_usd", HistoricalRateSeries.builder()
+                .base("IDR")
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("0.000064"))
+                .addRate(LocalDate.of(2024, 1, 3), "USD", new BigDecimal("0.000065"))
+                .build());
+        dataStore.markDataLoaded();
+    }
+
+    @Test
+    void testGetFinanceData_WritesPreEncodedBodyWithEtag() {
+        // Arrange
+        String etag = dataStore.getResource("supported_currencies").getEtag();
+
+        // Act & Assert
+        webTestClient.get().uri("/api/finance/data/supported_currencies")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .expectBody(String.class).isEqualTo("[\"currencies\"]");
+    }
+
+    @Test
+    void testGetFinanceData_AcceptSmileWritesPreEncodedSmile() {
+        // Arrange
+        StoredResource resource = dataStore.getResource("supported_currencies");
+
+        // Act & Assert
+        webTestClient.get().uri("/api/finance/data/supported_currencies")
+                .header(HttpHeaders.ACCEPT, "application/x-jackson-smile")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-jackson-smile")
+                .expectHeader().valueEquals(HttpHeaders.ETAG, resource.getEtag(ResponseFormat.SMILE))
+                .expectHeader().valueEquals(HttpHeaders.VARY, "Accept, Accept-Encoding")
+                .expectBody(byte[].class).isEqualTo(resource.getSmile());
+    }
+
+    @Test
+    void testGetFinanceData_AcceptEncodingGzipWritesPreCompressedVariant() {
+        // Arrange
+        StoredResource resource = dataStore.getResource("historical_idr_usd");
+        ContentCoding coding = resource.availableCoding(ResponseFormat.JSON, ContentCoding.GZIP);
+
+        // Act & Assert
+        assertEquals(ContentCoding.GZIP, coding);
+        webTestClient.get().uri("/api/finance/data/historical_idr_usd")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().valueEquals(HttpHeaders.ETAG, resource.getEtag(ResponseFormat.JSON, coding))
+                .expectBody(byte[].class).isEqualTo(resource.getBody(ResponseFormat.JSON, coding));
+    }
+
+    @Test
+    void testGetFinanceData_MatchingIfNoneMatchReturnsNotModified() {
+        // Arrange
+        String etag = dataStore.getResource("supported_currencies").getEtag();
+
+        // Act & Assert
+        webTestClient.get().uri("/api/finance/data/supported_currencies")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void testGetFinanceData_MissReadsThroughWithoutBlocking() {
+        // Arrange
+        InMemoryDataStore upstream = new InMemoryDataStore();
+        upstream.storeData("latest_idr_rates", "latest");
+        when(refreshService.fetchOnDemand("latest_idr_rates"))
+                .thenReturn(Mono.just(upstream.getResource("latest_idr_rates")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/finance/data/latest_idr_rates")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("[\"latest\"]");
+    }
+
+    @Test
+    void testGetFinanceData_FailedReadThroughReturnsNotFound() {
+        // Arrange
+        when(refreshService.fetchOnDemand("latest_idr_rates")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        webTestClient.get().uri("/api/finance/data/latest_idr_rates")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error").isEqualTo("Data Not Found");
+    }
+
+    @Test
+    void testGetFinanceData_HistoricalRangeReturnsOnlySlice() {
+        webTestClient.get().uri("/api/finance/data/historical_idr_usd?from=2024-01-03&to=2024-01-04")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].start_date").isEqualTo("2024-01-03")
+                .jsonPath("$[0].rates.length()").isEqualTo(1);
+    }
+
+    @Test
+    void testGetFinanceData_InvalidRequests() {
+        webTestClient.get().uri("/api/finance/data/invalid_resource")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Invalid Resource Type");
+        webTestClient.get().uri("/api/finance/data/historical_idr_usd?date=not-a-date")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Invalid Parameter");
+        webTestClient.get().uri("/api/finance/data/latest_idr_rates?date=2024-01-01")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Invalid Date Query");
+        verifyNoInteractions(refreshService);
+    }
+
+    @Test
+    void testGetFinanceData_RecordsRequestLatencyPerResourceAndStatus() {
+        // Act
+        webTestClient.get().uri("/api/finance/data/supported_currencies").exchange().expectStatus().isOk();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("finance.requests")
+                .tags("resource", "supported_currencies", "status", "200").timer().count());
+    }
+
+    @Test
+    void testGetFinanceDataBatch_WritesResourcesKeyedByType() {
+        webTestClient.get().uri("/api/finance/data?types=supported_currencies,historical_idr_usd")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.supported_currencies[0]").isEqualTo("currencies")
+                .jsonPath("$.historical_idr_usd[0].base").isEqualTo("IDR");
+    }
+
+    @Test
+    void testGetCrossRates_ServedFromMatrix() {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal("0.0000625")))
+                .build());
+
+        // Act & Assert
+        webTestClient.get().uri("/api/finance/rates/cross?from=USD&to=IDR")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.base").isEqualTo("USD")
+                .jsonPath("$.rates.IDR").isEqualTo(16000.0);
+    }
+
+    @Test
+    void testGetSpreadQuotes_ServedFromPrecomputedQuotes() {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal("0.0000625")))
+                .build());
+
+        // Act & Assert
+        webTestClient.get().uri("/api/finance/rates/spread")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.spread_factor").isEqualTo(0.00895)
+                .jsonPath("$.quotes.USD.buy").isEqualTo(16143.2)
+                .jsonPath("$.quotes.USD.sell").isEqualTo(15856.8);
+    }
+
+    @Test
+    void testStreamRates_WritesCurrentRatesAsPreEncodedEvent() {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal("0.0000625")))
+                .build());
+        String etag = dataStore.getResource("latest_idr_rates").getEtag();
+        String id = etag.substring(1, etag.length() - 1);
+
+        // Act
+        Flux<ServerSentEvent<String>> events = webTestClient.get().uri("/api/finance/rates/stream")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                })
+                .getResponseBody();
+
+        // Assert
+        ServerSentEvent<String> event = events.blockFirst(Duration.ofSeconds(5));
+        assertNotNull(event);
+        assertEquals(id, event.id());
+        assertEquals("latest_idr_rates", event.event());
+        assertTrue(event.data().contains("\"date\":\"2024-01-05\""), event.data());
+    }
+
+    @Test
+    void testConvert_StreamsResultsForEachConversion() {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal("0.0000625")))
+                .build());
+
+        // Act & Assert
+        webTestClient.post().uri("/api/finance/convert")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"from\":\"USD\",\"to\":\"IDR\",\"amount\":2},"
+                        + "{\"from\":\"IDR\",\"to\":\"XYZ\",\"amount\":1}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ConversionService.RATES_DATE_HEADER, "2024-01-05")
+                .expectBody()
+                .jsonPath("$[0].converted").isEqualTo(32000.0)
+                .jsonPath("$[1].error").exists();
+    }
+
+    @Test
+    void testConvert_MalformedBodyIsRejected() {
+        webTestClient.post().uri("/api/finance/convert")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"from\":\"USD\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Invalid Request Body");
+    }
+}
@@ -0,0 +1,75 @@
+package com.allobank.controller;
+
+import com.allobank.dto.RateStatisticsResponse;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.HistoricalAnalyticsService;
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.RateFixtures;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResourceResponses;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateStatisticsControllerTest {
+
+    @Mock
+    private DataRefreshService refreshService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryDataStore dataStore;
+    private RateStatisticsController controller;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        controller = new RateStatisticsController(new HistoricalAnalyticsService(dataStore,
+                new ResourceResponses(dataStore, refreshService)), new RequestMetrics(meterRegistry));
+
+        dataStore.storeData("historical_idr_usd", RateFixtures.historicalRates("0.000066"));
+        dataStore.markDataLoaded();
+    }
+
+    @Test
+    void testGetStatistics_SummarizesRange() {
+        // Act
+        ResponseEntity<?> response = controller.getStatistics(null,
+                LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 10), null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        RateStatisticsResponse body = (RateStatisticsResponse) response.getBody();
+        assertEquals("IDR", body.getBase());
+        assertEquals("USD", body.getCurrency());
+        assertEquals(LocalDate.of(2024, 1, 3), body.getStartDate());
+        assertEquals(LocalDate.of(2024, 1, 5), body.getEndDate());
+        assertEquals(2, body.getCount());
+        assertEquals(0.000065, body.getMin(), 1e-15);
+        assertEquals(0.000066, body.getMax(), 1e-15);
+        assertEquals(0.0000655, body.getMean(), 1e-15);
+        assertEquals(0.0000005, body.getStddev(), 1e-12);
+        assertEquals(0.000066 / 0.000065 - 1, body.getPeriodReturn(), 1e-12);
+        verify(refreshService, never()).fetchOnDemand(any());
+    }
+
+    @Test
+    void testGetStatistics_RejectsInvalidQueries() {
+        // Act & Assert
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getStatistics("GBP", null, null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getStatistics(null,
+                LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 2), null).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getStatistics(null,
+                LocalDate.of(2025, 1, 1), null, null).getStatusCode());
+    }
+}
@@ -0,0 +1,77 @@
+package com.allobank.controller;
+
+import com.allobank.config.StreamProperties;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.RateStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateStreamControllerTest {
+
+    private InMemoryDataStore dataStore;
+    private RateStreamController controller;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        StreamProperties properties = new StreamProperties();
+        properties.setHeartbeatInterval(Duration.ofMillis(50));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        controller = new RateStreamController(new RateStreamService(dataStore, objectMapper, properties,
+                new SimpleMeterRegistry()));
+        dataStore.storeData("latest_idr_rates", LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal("0.0000625")))
+                .build());
+    }
+
+    @Test
+    void testStreamRates_CurrentRatesThenHeartbeatComments() {
+        // Arrange
+        String etag = dataStore.getResource("latest_idr_rates").getEtag();
+
+        // Act & Assert
+        StepVerifier.create(controller.streamRates(null))
+                .assertNext(event -> {
+                    assertEquals(etag.substring(1, etag.length() - 1), event.id());
+                    assertEquals("latest_idr_rates", event.event());
+                    assertTrue(event.data().startsWith("{\"amount\":1.0,\"base\":\"IDR\",\"date\":\"2024-01-05\""),
+                            event.data());
+                })
+                .assertNext(event -> {
+                    assertNull(event.data());
+                    assertEquals("", event.comment());
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testStreamRates_LastEventIdOfCurrentRatesSendsOnlyHeartbeats() {
+        // Arrange
+        String etag = dataStore.getResource("latest_idr_rates").getEtag();
+
+        // Act & Assert
+        StepVerifier.create(controller.streamRates(etag.substring(1, etag.length() - 1)))
+                .assertNext(event -> assertNull(event.id()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+}
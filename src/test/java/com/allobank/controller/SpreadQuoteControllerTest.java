@@ -0,0 +1,76 @@
+package com.allobank.controller;
+
+import com.allobank.config.SpreadFactor;
+import com.allobank.service.CrossRateService;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.service.RateFixtures;
+import com.allobank.service.RequestMetrics;
+import com.allobank.service.ResourceResponses;
+import com.allobank.service.SpreadQuoteService;
+import com.allobank.util.SpreadCalculator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpreadQuoteControllerTest {
+
+    @Mock
+    private DataRefreshService refreshService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryDataStore dataStore;
+    private SpreadQuoteController controller;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        ResourceResponses responses = new ResourceResponses(dataStore, refreshService);
+        controller = new SpreadQuoteController(new CrossRateService(dataStore, responses),
+                new SpreadQuoteService(dataStore, objectMapper, responses, new SpreadFactor("testuser")),
+                new RequestMetrics(meterRegistry));
+
+        dataStore.storeData("latest_idr_rates", RateFixtures.latestRates("0.000064"));
+        dataStore.markDataLoaded();
+    }
+
+    @Test
+    void testGetSpreadQuotes_ReturnsBuyAndSellQuoteForEveryCurrency() throws Exception {
+        // Act
+        ResponseEntity<?> response = controller.getSpreadQuotes(null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String json = new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+        JsonNode body = objectMapper.readTree(json);
+        assertEquals("IDR", body.get("base").asText());
+        assertEquals("2024-01-05", body.get("date").asText());
+        assertEquals(List.of("EUR", "USD"), body.get("quotes").properties().stream()
+                .map(Map.Entry::getKey).toList());
+        BigDecimal spreadFactor = new BigDecimal("0.00895");
+        BigDecimal rate = new BigDecimal("0.000064");
+        assertTrue(json.contains("\"spread_factor\":0.00895,"));
+        assertTrue(json.contains("\"USD\":{\"buy\":" + SpreadCalculator.calculateUsdBuySpreadIdr(rate, spreadFactor)
+                + ",\"sell\":" + SpreadCalculator.calculateSellSpreadIdr(rate, spreadFactor) + "}"), json);
+        verify(refreshService, never()).fetchOnDemand(any());
+        assertEquals(1, meterRegistry.get("finance.requests")
+                .tags("resource", "spread_quotes", "status", "200").timer().count());
+    }
+}
@@ -0,0 +1,49 @@
+package com.allobank.factory;
+
+import com.allobank.config.FrankfurterApiProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebClientFactoryBeanTest {
+
+    @Test
+    void testGetObject_ReturnsSameClientOnEveryCall() {
+        // Arrange
+        WebClientFactoryBean factoryBean = new WebClientFactoryBean(properties("http://localhost:1"));
+
+        // Act
+        WebClient first = factoryBean.getObject();
+        WebClient second = factoryBean.getObject();
+
+        // Assert
+        assertSame(first, second);
+        factoryBean.destroy();
+    }
+
+    @Test
+    void testGetObject_UnreachableHostFailsWithinConnectTimeout() {
+        // Arrange
+        FrankfurterApiProperties properties = properties("http://10.255.255.1");
+        properties.setConnectTimeout(Duration.ofMillis(200));
+        WebClientFactoryBean factoryBean = new WebClientFactoryBean(properties);
+
+        // Act & Assert
+        StepVerifier.create(factoryBean.getObject().get().uri("/latest").retrieve().bodyToMono(String.class))
+                .expectError(WebClientRequestException.class)
+                .verify(Duration.ofSeconds(5));
+        factoryBean.destroy();
+    }
+
+    private static FrankfurterApiProperties properties(String baseUrl) {
+        FrankfurterApiProperties properties = new FrankfurterApiProperties();
+        properties.setBaseUrl(baseUrl);
+        properties.getPool().setMetricsEnabled(false);
+        return properties;
+    }
+}
@@ -0,0 +1,69 @@
+package com.allobank.health;
+
+import com.allobank.service.InMemoryDataStore;
+import com.allobank.strategy.IDRDataFetcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DataStoreHealthIndicatorTest {
+
+    @Mock
+    private IDRDataFetcher fetcher1;
+
+    @Mock
+    private IDRDataFetcher fetcher2;
+
+    private InMemoryDataStore dataStore;
+    private DataStoreHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        healthIndicator = new DataStoreHealthIndicator(List.of(fetcher1, fetcher2), dataStore);
+
+        when(fetcher1.getResourceType()).thenReturn("resource1");
+        when(fetcher2.getResourceType()).thenReturn("resource2");
+    }
+
+    @Test
+    void testHealth_OutOfServiceUntilFirstResourceIsReady() {
+        // Act
+        Health health = healthIndicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("0/2", health.getDetails().get("ready"));
+    }
+
+    @Test
+    void testHealth_ReportsEachResource() {
+        // Arrange
+        dataStore.storeData("resource1", "data1");
+
+        // Act
+        Health loading = healthIndicator.health();
+        dataStore.markDataLoaded();
+        Health loaded = healthIndicator.health();
+
+        // Assert
+        assertEquals(Status.UP, loading.getStatus());
+        assertEquals("1/2", loading.getDetails().get("ready"));
+        Map<?, ?> resources = (Map<?, ?>) loading.getDetails().get("resources");
+        assertEquals("READY", ((Map<?, ?>) resources.get("resource1")).get("status"));
+        assertEquals("LOADING", ((Map<?, ?>) resources.get("resource2")).get("status"));
+        Map<?, ?> afterLoad = (Map<?, ?>) loaded.getDetails().get("resources");
+        assertEquals("UNAVAILABLE", ((Map<?, ?>) afterLoad.get("resource2")).get("status"));
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -23,14 +26,16 @@ class DataInitializationIntegrationTest {
     @Test
     void testDataStoreIsInitialized() {
         // This test verifies that the ApplicationRunner has executed
-        // and loaded data into the store
+        // and loaded data into the store; loading runs in the background
         assertNotNull(dataStore);
+        await().atMost(Duration.ofSeconds(30)).until(dataStore::isDataLoaded);
         assertTrue(dataStore.isDataLoaded(), "Data should be loaded after ApplicationRunner execution");
     }
 
     @Test
     void testAllResourceTypesAreLoaded() {
         // Verify that all three resource types are available
+        await().atMost(Duration.ofSeconds(30)).until(dataStore::isDataLoaded);
         assertNotNull(dataStore.getData("latest_idr_rates"), "Latest IDR rates should be loaded");
         assertNotNull(dataStore.getData("historical_idr_usd"), "Historical IDR to USD should be loaded");
         assertNotNull(dataStore.getData("supported_currencies"), "Supported currencies should be loaded");
@@ -0,0 +1,68 @@
+package com.allobank.integration;
+
+import com.allobank.loadtest.FrankfurterStandIn;
+import com.allobank.model.HistoricalRateSeries;
+import com.allobank.service.InMemoryDataStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads every resource from the embedded Frankfurter stand-in while it delays responses and
+ * fails the first request to each endpoint, so the startup path is covered without network access.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FrankfurterStandInIntegrationTest {
+
+    private static final LocalDate HISTORY_START = LocalDate.of(2019, 1, 1);
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 28);
+
+    private static final FrankfurterStandIn STAND_IN = FrankfurterStandIn.builder()
+            .history(HISTORY_START, TODAY)
+            .latency(Duration.ofMillis(5), Duration.ofMillis(20))
+            .failFirst(1)
+            .start();
+
+    @Autowired
+    private InMemoryDataStore dataStore;
+
+    @DynamicPropertySource
+    static void frankfurterProperties(DynamicPropertyRegistry registry) {
+        registry.add("frankfurter.api.base-url", STAND_IN::getBaseUrl);
+        registry.add("frankfurter.api.historical.start-date", HISTORY_START::toString);
+        registry.add("frankfurter.api.historical.end-date", TODAY::toString);
+        registry.add("frankfurter.api.historical.retry-backoff", () -> "10ms");
+        registry.add("frankfurter.api.resilience.retry-backoff", () -> "10ms");
+    }
+
+    @AfterAll
+    static void stopStandIn() {
+        STAND_IN.close();
+    }
+
+    @Test
+    void testAllResourceTypesAreLoadedDespiteInjectedFailures() {
+        // Act
+        await().atMost(Duration.ofSeconds(30)).until(dataStore::isDataLoaded);
+
+        // Assert
+        assertNotNull(dataStore.getData("latest_idr_rates"));
+        assertNotNull(dataStore.getData("supported_currencies"));
+        HistoricalRateSeries history = (HistoricalRateSeries) dataStore.getData("historical_idr_usd");
+        assertEquals(LocalDate.of(2019, 1, 1), history.getDate(0));
+        assertEquals(TODAY, history.getDate(history.size() - 1));
+        assertEquals(1434, history.size(), "Every business day of the five and a half years");
+        assertTrue(STAND_IN.getRequestCount(FrankfurterStandIn.Endpoint.HISTORY) > 1);
+    }
+}
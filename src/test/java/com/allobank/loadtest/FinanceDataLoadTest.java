@@ -0,0 +1,77 @@
+package com.allobank.loadtest;
+
+import com.allobank.service.InMemoryDataStore;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load run against the application started on a random port and fed by the embedded
+ * Frankfurter stand-in with ten years of history. Excluded from the default build; run it with
+ * {@code mvn test -Pload-test}, tuning {@code -Dload.concurrency}, {@code -Dload.duration} (seconds)
+ * and {@code -Dload.warmup} (seconds).
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FinanceDataLoadTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static final FrankfurterStandIn STAND_IN = FrankfurterStandIn.builder()
+            .history(TODAY.minusYears(10), TODAY)
+            .latency(Duration.ofMillis(20), Duration.ofMillis(30))
+            .start();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InMemoryDataStore dataStore;
+
+    @DynamicPropertySource
+    static void frankfurterProperties(DynamicPropertyRegistry registry) {
+        registry.add("frankfurter.api.base-url", STAND_IN::getBaseUrl);
+        registry.add("frankfurter.api.historical.start-date", STAND_IN.getHistoryStart()::toString);
+        registry.add("frankfurter.api.historical.end-date", TODAY::toString);
+        registry.add("logging.level.com.allobank", () -> "INFO");
+    }
+
+    @AfterAll
+    static void stopStandIn() {
+        STAND_IN.close();
+    }
+
+    @Test
+    void testFinanceDataEndpointsUnderLoad() {
+        // Arrange
+        await().atMost(Duration.ofSeconds(60)).until(dataStore::isDataLoaded);
+        LoadGenerator generator = new LoadGenerator("http://localhost:" + port,
+                LoadGenerator.FINANCE_DATA_PATHS,
+                Integer.getInteger("load.concurrency", 64),
+                Duration.ofSeconds(Long.getLong("load.warmup", 5)),
+                Duration.ofSeconds(Long.getLong("load.duration", 20)));
+
+        // Act
+        LoadGenerator.Report report = generator.run();
+        log.info("Finance data load: {}", report);
+
+        // Assert
+        assertEquals(0, report.errors(), report.toString());
+        assertTrue(report.requests() > 0, report.toString());
+    }
+}
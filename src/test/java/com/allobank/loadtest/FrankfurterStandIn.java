@@ -0,0 +1,387 @@
+package com.allobank.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Embedded stand-in for the Frankfurter API, serving {@code /latest}, {@code /currencies}
+ * and {@code /{start}..{end}} from synthetic data so the application can be exercised end
+ * to end without network access.
+ * Rates are a seeded random walk over every business day of {@code [historyStart, today]},
+ * so responses are deterministic for a given configuration. Latency and failures can be
+ * injected, and changed while the server runs to simulate an upstream incident.
+ * Run {@link #main} to keep one up for a separately started application.
+ */
+@Slf4j
+public final class FrankfurterStandIn implements AutoCloseable {
+
+    public enum Endpoint {
+        LATEST, CURRENCIES, HISTORY
+    }
+
+    private static final MathContext RATE_PRECISION = new MathContext(6);
+
+    private static final Map<String, String> CURRENCIES = currencyNames();
+
+    /**
+     * Units of each currency per IDR on the first synthetic day.
+     */
+    private static final double[] INITIAL_RATES = {
+            0.000096, 0.0000089, 0.000062, 0.000087, 0.000059, 0.00029, 0.00045, 0.0074, 0.000049,
+            0.000053, 0.0013, 0.000085, 0.00019, 0.0091, 0.082, 0.00030, 0.00067, 0.0011, 0.000087,
+            0.00035, 0.000064, 0.0011};
+
+    private final LocalDate historyStart;
+    private final LocalDate today;
+    private final LocalDate[] dates;
+    private final String[] currencies;
+    private final String[][] rates;
+    private final byte[] latestJson;
+    private final byte[] currenciesJson;
+    private final Map<Endpoint, AtomicInteger> requestCounts = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicInteger> pendingFailures = new EnumMap<>(Endpoint.class);
+    private final DisposableServer server;
+
+    private volatile Duration latency;
+    private volatile Duration latencyJitter;
+    private volatile double errorRate;
+
+    private FrankfurterStandIn(Builder builder) {
+        this.historyStart = builder.historyStart;
+        this.today = builder.today;
+        this.latency = builder.latency;
+        this.latencyJitter = builder.latencyJitter;
+        this.errorRate = builder.errorRate;
+        for (Endpoint endpoint : Endpoint.values()) {
+            requestCounts.put(endpoint, new AtomicInteger());
+            pendingFailures.put(endpoint, new AtomicInteger(builder.failFirst));
+        }
+
+        List<LocalDate> businessDays = new ArrayList<>();
+        for (LocalDate date = historyStart; !date.isAfter(today); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                businessDays.add(date);
+            }
+        }
+        this.dates = businessDays.toArray(LocalDate[]::new);
+        this.currencies = CURRENCIES.keySet().toArray(String[]::new);
+        this.rates = randomWalk(dates.length, builder.seed);
+        this.latestJson = latest();
+        this.currenciesJson = json(CURRENCIES);
+
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(builder.port)
+                .compress(1024)
+                .route(routes -> routes
+                        .get("/latest", (request, response) -> respond(response, Endpoint.LATEST,
+                                () -> latestJson))
+                        .get("/currencies", (request, response) -> respond(response, Endpoint.CURRENCIES,
+                                () -> currenciesJson))
+                        .get("/{range}", this::history))
+                .bindNow();
+        log.info("Frankfurter stand-in serving {} business days of {} currencies at {}",
+                dates.length, currencies.length, getBaseUrl());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public LocalDate getHistoryStart() {
+        return historyStart;
+    }
+
+    public LocalDate getToday() {
+        return today;
+    }
+
+    public int getRequestCount(Endpoint endpoint) {
+        return requestCounts.get(endpoint).get();
+    }
+
+    public void setLatency(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.latencyJitter = jitter;
+    }
+
+    /**
+     * @param errorRate Fraction of requests answered with 503, from 0 to 1
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> history(HttpServerRequest request, HttpServerResponse response) {
+        String[] bounds = request.param("range").split("\\.\\.", -1);
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(bounds[0]);
+            end = bounds.length > 1 && !bounds[1].isEmpty() ? LocalDate.parse(bounds[1]) : today;
+        } catch (DateTimeParseException e) {
+            return response.status(HttpResponseStatus.NOT_FOUND).send();
+        }
+        Map<String, List<String>> query = new QueryParameters(request.uri()).values;
+        List<String> symbols = query.getOrDefault("to", List.of());
+        return respond(response, Endpoint.HISTORY, () -> history(start, end, symbols));
+    }
+
+    private Mono<Void> respond(HttpServerResponse response, Endpoint endpoint, Supplier<byte[]> body) {
+        requestCounts.get(endpoint).incrementAndGet();
+        boolean fail = pendingFailures.get(endpoint).getAndUpdate(count -> Math.max(0, count - 1)) > 0
+                || (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate);
+
+        Mono<Void> send = fail
+                ? response.status(HttpResponseStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.just("{\"message\":\"Injected failure\"}"))
+                        .then()
+                : response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendByteArray(Mono.fromSupplier(body))
+                        .then();
+
+        Duration delay = nextLatency();
+        return delay.isZero() ? send : Mono.delay(delay).then(send);
+    }
+
+    private Duration nextLatency() {
+        Duration base = latency;
+        Duration jitter = latencyJitter;
+        if (jitter.isZero()) {
+            return base;
+        }
+        return base.plusNanos(ThreadLocalRandom.current().nextLong(jitter.toNanos() + 1));
+    }
+
+    private byte[] latest() {
+        int row = dates.length - 1;
+        StringBuilder json = new StringBuilder("{\"amount\":1.0,\"base\":\"IDR\",\"date\":\"")
+                .append(dates[row]).append("\",\"rates\":{");
+        for (int column = 0; column < currencies.length; column++) {
+            if (column > 0) {
+                json.append(',');
+            }
+            json.append('"').append(currencies[column]).append("\":").append(rates[column][row]);
+        }
+        return json.append("}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] history(LocalDate start, LocalDate end, List<String> symbols) {
+        int[] columns = symbols.isEmpty()
+                ? IntStream.range(0, currencies.length).toArray()
+                : symbols.stream()
+                        .flatMap(symbol -> Arrays.stream(symbol.split(",")))
+                        .mapToInt(symbol -> Arrays.asList(currencies).indexOf(symbol))
+                        .filter(column -> column >= 0)
+                        .toArray();
+        int from = firstRowOnOrAfter(start);
+        int to = firstRowOnOrAfter(end.plusDays(1)) - 1;
+
+        StringBuilder json = new StringBuilder("{\"amount\":1.0,\"base\":\"IDR\"");
+        if (from <= to) {
+            json.append(",\"start_date\":\"").append(dates[from])
+                    .append("\",\"end_date\":\"").append(dates[to]).append('"');
+        }
+        json.append(",\"rates\":{");
+        for (int row = from; row <= to; row++) {
+            if (row > from) {
+                json.append(',');
+            }
+            json.append('"').append(dates[row]).append("\":{");
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append('"').append(currencies[columns[i]]).append("\":").append(rates[columns[i]][row]);
+            }
+            json.append('}');
+        }
+        return json.append("}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int firstRowOnOrAfter(LocalDate date) {
+        int index = Arrays.binarySearch(dates, date);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Daily log-normal steps of about 0.5%, formatted once as plain decimals.
+     */
+    private String[][] randomWalk(int days, long seed) {
+        Random random = new Random(seed);
+        String[][] walk = new String[currencies.length][days];
+        for (int column = 0; column < currencies.length; column++) {
+            double rate = INITIAL_RATES[column];
+            for (int row = 0; row < days; row++) {
+                rate *= Math.exp(random.nextGaussian() * 0.005);
+                walk[column][row] = new BigDecimal(rate).round(RATE_PRECISION).stripTrailingZeros().toPlainString();
+            }
+        }
+        return walk;
+    }
+
+    private static byte[] json(Map<String, String> names) {
+        StringBuilder json = new StringBuilder("{");
+        names.forEach((code, name) -> json.append(json.length() > 1 ? "," : "")
+                .append('"').append(code).append("\":\"").append(name).append('"'));
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> currencyNames() {
+        Map<String, String> names = new LinkedHashMap<>();
+        names.put("AUD", "Australian Dollar");
+        names.put("CHF", "Swiss Franc");
+        names.put("CNY", "Chinese Renminbi Yuan");
+        names.put("CAD", "Canadian Dollar");
+        names.put("EUR", "Euro");
+        names.put("HKD", "Hong Kong Dollar");
+        names.put("INR", "Indian Rupee");
+        names.put("JPY", "Japanese Yen");
+        names.put("GBP", "British Pound");
+        names.put("SGD", "Singapore Dollar");
+        names.put("PHP", "Philippine Peso");
+        names.put("NZD", "New Zealand Dollar");
+        names.put("MYR", "Malaysian Ringgit");
+        names.put("KRW", "South Korean Won");
+        names.put("ISK", "Icelandic Króna");
+        names.put("DKK", "Danish Krone");
+        names.put("THB", "Thai Baht");
+        names.put("CZK", "Czech Koruna");
+        names.put("NOK", "Norwegian Krone");
+        names.put("SEK", "Swedish Krona");
+        names.put("USD", "United States Dollar");
+        names.put("ZAR", "South African Rand");
+        return names;
+    }
+
+    /**
+     * Query parameters of a request URI, with repeated names collected in order.
+     */
+    private static final class QueryParameters {
+
+        private final Map<String, List<String>> values = new LinkedHashMap<>();
+
+        private QueryParameters(String uri) {
+            int start = uri.indexOf('?');
+            if (start < 0) {
+                return;
+            }
+            for (String pair : uri.substring(start + 1).split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0) {
+                    values.computeIfAbsent(pair.substring(0, separator), name -> new ArrayList<>())
+                            .add(URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private int port;
+        private LocalDate historyStart = LocalDate.of(2015, 1, 1);
+        private LocalDate today = LocalDate.now();
+        private long seed = 42;
+        private Duration latency = Duration.ZERO;
+        private Duration latencyJitter = Duration.ZERO;
+        private double errorRate;
+        private int failFirst;
+
+        private Builder() {
+        }
+
+        /**
+         * @param port The port to listen on; 0, the default, picks a free one
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder history(LocalDate historyStart, LocalDate today) {
+            this.historyStart = historyStart;
+            this.today = today;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Delays every response by {@code latency} plus a uniformly random part of {@code jitter}.
+         */
+        public Builder latency(Duration latency, Duration jitter) {
+            this.latency = latency;
+            this.latencyJitter = jitter;
+            return this;
+        }
+
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Answers the first {@code requests} requests to each endpoint with 503, deterministically.
+         */
+        public Builder failFirst(int requests) {
+            this.failFirst = requests;
+            return this;
+        }
+
+        public FrankfurterStandIn start() {
+            return new FrankfurterStandIn(this);
+        }
+    }
+
+    /**
+     * Serves until the process is stopped. Arguments: {@code [port] [latencyMillis] [errorRate]}.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        FrankfurterStandIn standIn = builder()
+                .port(args.length > 0 ? Integer.parseInt(args[0]) : 8081)
+                .latency(Duration.ofMillis(args.length > 1 ? Long.parseLong(args[1]) : 0), Duration.ZERO)
+                .errorRate(args.length > 2 ? Double.parseDouble(args[2]) : 0)
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::close));
+        standIn.server.onDispose().block();
+    }
+}
@@ -0,0 +1,169 @@
+package com.allobank.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop load generator for the {@code /api/finance/data/*} endpoints.
+ * Each of {@code concurrency} workers keeps exactly one request in flight over a shared
+ * connection pool, cycling through the paths, so throughput reflects what the server
+ * sustains rather than an offered rate. Latencies recorded during the warmup are discarded.
+ * Run {@link #main} to point it at an already running instance.
+ */
+public final class LoadGenerator {
+
+    public static final List<String> FINANCE_DATA_PATHS = List.of(
+            "/api/finance/data/latest_idr_rates",
+            "/api/finance/data/historical_idr_usd",
+            "/api/finance/data/supported_currencies");
+
+    private final String baseUrl;
+    private final List<String> paths;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public LoadGenerator(String baseUrl, List<String> paths, int concurrency, Duration warmup, Duration duration) {
+        this.baseUrl = baseUrl;
+        this.paths = List.copyOf(paths);
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    public Report run() {
+        ConnectionProvider connections = ConnectionProvider.builder("load-generator")
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        try {
+            HttpClient client = HttpClient.create(connections)
+                    .baseUrl(baseUrl)
+                    .headers(headers -> headers.set(HttpHeaderNames.ACCEPT_ENCODING, "gzip"));
+
+            runPhase(client, warmup);
+            long start = System.nanoTime();
+            List<Worker> workers = runPhase(client, duration);
+            long elapsed = System.nanoTime() - start;
+            return Report.of(workers, elapsed);
+        } finally {
+            connections.disposeLater().block();
+        }
+    }
+
+    private List<Worker> runPhase(HttpClient client, Duration phase) {
+        long deadline = System.nanoTime() + phase.toNanos();
+        List<Worker> workers = IntStream.range(0, concurrency)
+                .mapToObj(index -> new Worker(client, index))
+                .toList();
+        Flux.fromIterable(workers)
+                .flatMap(worker -> worker.loop(deadline), concurrency)
+                .blockLast();
+        return workers;
+    }
+
+    private final class Worker {
+
+        private final HttpClient client;
+        private int next;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private Worker(HttpClient client, int offset) {
+            this.client = client;
+            this.next = offset;
+        }
+
+        private Mono<Void> loop(long deadline) {
+            return Mono.defer(() -> {
+                        long sent = System.nanoTime();
+                        String path = paths.get(next++ % paths.size());
+                        return client.get()
+                                .uri(path)
+                                .responseSingle((response, body) -> body.asByteArray()
+                                        .defaultIfEmpty(new byte[0])
+                                        .map(bytes -> response.status().code()))
+                                .onErrorReturn(-1)
+                                .doOnNext(status -> record(sent, status));
+                    })
+                    .repeat(() -> System.nanoTime() < deadline)
+                    .then();
+        }
+
+        private void record(long sent, int status) {
+            if (status < 200 || status >= 400) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - sent;
+        }
+    }
+
+    /**
+     * @param requests Successful requests in the measured phase
+     * @param errors Failed or non-2xx/3xx requests in the measured phase
+     * @param throughput Successful requests per second
+     */
+    public record Report(long requests, long errors, double throughput,
+                         Duration p50, Duration p99, Duration p999, Duration max) {
+
+        private static Report of(List<Worker> workers, long elapsedNanos) {
+            AtomicLong errors = new AtomicLong();
+            long[] latencies = workers.stream()
+                    .peek(worker -> errors.addAndGet(worker.errors))
+                    .flatMapToLong(worker -> Arrays.stream(worker.latencies, 0, worker.count))
+                    .sorted()
+                    .toArray();
+            double seconds = elapsedNanos / 1e9;
+            return new Report(latencies.length, errors.get(), latencies.length / seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    percentile(latencies, 1.0));
+        }
+
+        private static Duration percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.max(0, index)]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "requests=%d errors=%d throughput=%.0f req/s p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms",
+                    requests, errors, throughput, millis(p50), millis(p99), millis(p999), millis(max));
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+
+    /**
+     * Arguments: {@code [baseUrl] [concurrency] [durationSeconds] [warmupSeconds]}.
+     */
+    public static void main(String[] args) {
+        LoadGenerator generator = new LoadGenerator(
+                args.length > 0 ? args[0] : "http://localhost:8080",
+                FINANCE_DATA_PATHS,
+                args.length > 1 ? Integer.parseInt(args[1]) : 64,
+                Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 10),
+                Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30));
+        System.out.println(generator.run());
+    }
+}
@@ -0,0 +1,90 @@
+package com.allobank.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionBatchParserTest {
+
+    private static final String BODY = "[{\"from\":\"usd\",\"to\":\"IDR\",\"amount\":12.5},"
+            + "{\"amount\":-3,\"to\":\"eur\",\"from\":\"JPY\",\"reference\":\"inv-1\"}]";
+
+    @Test
+    void testParse_ReadsConversionsInOrder() throws IOException {
+        // Act
+        ConversionBatch batch = parse(BODY, 10);
+
+        // Assert
+        assertEquals(2, batch.size());
+        assertEquals("USD", batch.getFrom(0));
+        assertEquals("IDR", batch.getTo(0));
+        assertEquals(new BigDecimal("12.5"), batch.getAmount(0));
+        assertEquals("JPY", batch.getFrom(1));
+        assertEquals("EUR", batch.getTo(1));
+        assertEquals(new BigDecimal("-3"), batch.getAmount(1));
+    }
+
+    @Test
+    void testFeed_ByteByByteMatchesBlockingParse() throws IOException {
+        // Arrange
+        byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+        ConversionBatch batch;
+
+        // Act
+        try (ConversionBatchParser parser = ConversionBatchParser.nonBlocking(10)) {
+            for (byte b : bytes) {
+                parser.feed(ByteBuffer.wrap(new byte[]{b}));
+            }
+            batch = parser.finish();
+        }
+
+        // Assert
+        assertEquals(2, batch.size());
+        assertEquals("EUR", batch.getTo(1));
+        assertEquals(new BigDecimal("-3"), batch.getAmount(1));
+    }
+
+    @Test
+    void testParse_GrowsBeyondInitialCapacity() throws IOException {
+        // Arrange
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            body.append(i > 0 ? "," : "").append("{\"from\":\"USD\",\"to\":\"IDR\",\"amount\":").append(i).append('}');
+        }
+        body.append(']');
+
+        // Act
+        ConversionBatch batch = parse(body.toString(), 1000);
+
+        // Assert
+        assertEquals(1000, batch.size());
+        assertEquals(new BigDecimal("999"), batch.getAmount(999));
+    }
+
+    @Test
+    void testParse_RejectsInvalidDocuments() {
+        assertThrows(IOException.class, () -> parse("{\"from\":\"USD\"}", 10));
+        assertThrows(IOException.class, () -> parse("[{\"from\":\"USD\",\"to\":\"IDR\"}]", 10));
+        assertThrows(IOException.class, () -> parse("[{\"from\":\"USD\",\"to\":\"IDR\",\"amount\":true}]", 10));
+        assertThrows(IOException.class, () -> parse("[[1]]", 10));
+        assertThrows(IOException.class, () -> parse("[{\"from\":\"USD\",\"to\":\"IDR\",\"amount\":1}", 10));
+        assertThrows(IOException.class, () -> parse("", 10));
+    }
+
+    @Test
+    void testParse_RejectsTooManyConversions() {
+        IOException error = assertThrows(IOException.class, () -> parse(BODY, 1));
+
+        assertTrue(error.getMessage().contains("maximum 1"));
+    }
+
+    private static ConversionBatch parse(String body, int maxItems) throws IOException {
+        return ConversionBatchParser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), maxItems);
+    }
+}
@@ -0,0 +1,74 @@
+package com.allobank.model;
+
+import com.allobank.dto.LatestRatesResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrossRateMatrixTest {
+
+    private static final LatestRatesResponse LATEST = LatestRatesResponse.builder()
+            .amount(new BigDecimal("1.0"))
+            .base("IDR")
+            .date(LocalDate.of(2024, 1, 5))
+            .rates(Map.of(
+                    "USD", new BigDecimal("0.000064"),
+                    "EUR", new BigDecimal("0.000058"),
+                    "JPY", new BigDecimal("0.0093")))
+            .build();
+
+    @Test
+    void testFrom_IncludesBaseAndSortsCurrencies() {
+        // Act
+        CrossRateMatrix matrix = CrossRateMatrix.from(LATEST);
+
+        // Assert
+        assertEquals(4, matrix.size());
+        assertEquals("EUR", matrix.currency(0));
+        assertEquals("IDR", matrix.currency(1));
+        assertEquals("JPY", matrix.currency(2));
+        assertEquals("USD", matrix.currency(3));
+        assertEquals(-1, matrix.ordinal("GBP"));
+        assertEquals(LocalDate.of(2024, 1, 5), matrix.getDate());
+    }
+
+    @Test
+    void testRate_DerivesCrossRatesFromBaseRates() {
+        // Arrange
+        CrossRateMatrix matrix = CrossRateMatrix.from(LATEST);
+        int idr = matrix.ordinal("IDR");
+        int usd = matrix.ordinal("USD");
+        int eur = matrix.ordinal("EUR");
+
+        // Act & Assert
+        assertEquals(0.000064, matrix.rate(idr, usd), 1e-15);
+        assertEquals(1 / 0.000064, matrix.rate(usd, idr), 1e-9);
+        assertEquals(0.000058 / 0.000064, matrix.rate(usd, eur), 1e-12);
+        assertEquals(1.0, matrix.rate(usd, eur) * matrix.rate(eur, usd), 1e-12);
+        assertEquals(1.0, matrix.rate(eur, eur));
+        assertEquals(new BigDecimal("15625"), matrix.decimalRate(usd, idr, MathContext.DECIMAL64));
+        assertEquals(new BigDecimal("0.90625"), matrix.decimalRate(usd, eur, MathContext.DECIMAL64));
+        assertEquals(BigDecimal.ONE, matrix.decimalRate(eur, eur, MathContext.DECIMAL64));
+    }
+
+    @Test
+    void testFrom_SkipsCurrenciesWithoutPositiveRate() {
+        // Arrange
+        LatestRatesResponse latest = LatestRatesResponse.builder()
+                .base("IDR")
+                .rates(Map.of("USD", new BigDecimal("0.000064"), "XXX", BigDecimal.ZERO))
+                .build();
+
+        // Act
+        CrossRateMatrix matrix = CrossRateMatrix.from(latest);
+
+        // Assert
+        assertEquals(2, matrix.size());
+        assertEquals(-1, matrix.ordinal("XXX"));
+    }
+}
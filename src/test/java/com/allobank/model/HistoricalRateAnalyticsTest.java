@@ -0,0 +1,85 @@
+package com.allobank.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoricalRateAnalyticsTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private static final double[] USD = {64.0, 66.0, 63.0, 65.0, 67.0, 62.0, 68.0};
+
+    @Test
+    void testStatistics_MatchesScanOverEveryRange() {
+        // Arrange
+        HistoricalRateSeries.Builder builder = HistoricalRateSeries.builder().base("IDR");
+        for (int day = 0; day < USD.length; day++) {
+            builder.addRate(START.plusDays(day), "USD", BigDecimal.valueOf(USD[day]));
+        }
+        HistoricalRateAnalytics analytics = HistoricalRateAnalytics.from(builder.build());
+        int usd = analytics.currencyIndex("USD");
+
+        for (int from = 0; from < USD.length; from++) {
+            for (int to = from; to < USD.length; to++) {
+                // Act
+                RangeStatistics statistics = analytics.statistics(usd, START.plusDays(from), START.plusDays(to));
+
+                // Assert
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                double sum = 0;
+                for (int day = from; day <= to; day++) {
+                    min = Math.min(min, USD[day]);
+                    max = Math.max(max, USD[day]);
+                    sum += USD[day];
+                }
+                int count = to - from + 1;
+                double mean = sum / count;
+                double squaredDeviations = 0;
+                for (int day = from; day <= to; day++) {
+                    squaredDeviations += (USD[day] - mean) * (USD[day] - mean);
+                }
+                assertEquals(count, statistics.count());
+                assertEquals(min, statistics.min());
+                assertEquals(max, statistics.max());
+                assertEquals(mean, statistics.mean(), 1e-9);
+                assertEquals(Math.sqrt(squaredDeviations / count), statistics.standardDeviation(), 1e-9);
+                assertEquals(USD[to] / USD[from] - 1, statistics.change(), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void testStatistics_SkipsDatesWithoutRateAndClampsBounds() {
+        // Arrange
+        HistoricalRateSeries series = HistoricalRateSeries.builder()
+                .base("IDR")
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("0.000064"))
+                .addRate(LocalDate.of(2024, 1, 2), "EUR", new BigDecimal("0.000058"))
+                .addRate(LocalDate.of(2024, 1, 3), "USD", new BigDecimal("0.000065"))
+                .addRate(LocalDate.of(2024, 1, 4), "EUR", new BigDecimal("0.000060"))
+                .build();
+        HistoricalRateAnalytics analytics = HistoricalRateAnalytics.from(series);
+        int eur = analytics.currencyIndex("EUR");
+
+        // Act
+        RangeStatistics statistics = analytics.statistics(eur, LocalDate.of(2023, 12, 1), null);
+
+        // Assert
+        assertEquals("IDR", analytics.getBase());
+        assertEquals(LocalDate.of(2024, 1, 2), statistics.startDate());
+        assertEquals(LocalDate.of(2024, 1, 4), statistics.endDate());
+        assertEquals(2, statistics.count());
+        assertEquals(0.000058, statistics.min(), 1e-15);
+        assertEquals(0.000060, statistics.max(), 1e-15);
+        assertEquals(0.000059, statistics.mean(), 1e-15);
+        assertEquals(0.000060 / 0.000058 - 1, statistics.change(), 1e-12);
+        assertNull(analytics.statistics(eur, LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 3)));
+        assertNull(analytics.statistics(eur, LocalDate.of(2025, 1, 1), null));
+        assertEquals(-1, analytics.currencyIndex("GBP"));
+    }
+}
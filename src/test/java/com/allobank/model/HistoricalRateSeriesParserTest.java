@@ -0,0 +1,94 @@
+package com.allobank.model;
+
+import com.allobank.dto.HistoricalRatesResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoricalRateSeriesParserTest {
+
+    private static final String JSON = "{\"amount\":1.0,\"base\":\"IDR\","
+            + "\"start_date\":\"2023-12-29\",\"end_date\":\"2024-01-03\","
+            + "\"rates\":{\"2023-12-29\":{\"USD\":0.000065,\"EUR\":0.000059},"
+            + "\"2024-01-02\":{\"USD\":0.000064},\"2024-01-03\":{\"USD\":0.0000645}}}";
+
+    @Test
+    void testNonBlocking_ChunkedInputMatchesResponseConversion() throws Exception {
+        // Arrange
+        Map<LocalDate, Map<String, BigDecimal>> rates = new LinkedHashMap<>();
+        rates.put(LocalDate.of(2023, 12, 29), Map.of("USD", new BigDecimal("0.000065"),
+                "EUR", new BigDecimal("0.000059")));
+        rates.put(LocalDate.of(2024, 1, 2), Map.of("USD", new BigDecimal("0.000064")));
+        rates.put(LocalDate.of(2024, 1, 3), Map.of("USD", new BigDecimal("0.0000645")));
+        HistoricalRatesResponse response = HistoricalRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .startDate(LocalDate.of(2023, 12, 29))
+                .endDate(LocalDate.of(2024, 1, 3))
+                .rates(rates)
+                .build();
+
+        // Act
+        HistoricalRateSeries series = parseInChunks(JSON, 3);
+
+        // Assert
+        assertEquals(HistoricalRateSeries.from(response), series);
+    }
+
+    @Test
+    void testNonBlocking_FallsBackForExponentsAndIgnoresUnknownFields() throws Exception {
+        // Arrange
+        String json = "{\"meta\":{\"source\":\"ecb\",\"tags\":[\"a\",{\"rates\":1}]},\"amount\":1,"
+                + "\"base\":\"IDR\",\"flag\":true,\"note\":null,"
+                + "\"rates\":{\"2024-01-02\":{\"USD\":6.4E-5}}}";
+
+        // Act
+        HistoricalRateSeries series = parseInChunks(json, 5);
+
+        // Assert
+        assertEquals(1, series.size());
+        assertEquals("IDR", series.getBase());
+        assertEquals(new BigDecimal("0.000064"), series.getRate(series.currencyIndex("USD"), 0));
+    }
+
+    @Test
+    void testFinish_TruncatedDocumentThrows() throws Exception {
+        try (HistoricalRateSeriesParser parser = HistoricalRateSeriesParser.nonBlocking()) {
+            parser.feed(ByteBuffer.wrap(JSON.substring(0, JSON.length() - 5).getBytes(StandardCharsets.UTF_8)));
+
+            assertThrows(IOException.class, parser::finish);
+        }
+    }
+
+    @Test
+    void testParse_BlockingParserMatchesNonBlocking() throws Exception {
+        // Arrange
+        JsonParser jsonParser = new JsonFactory().createParser(JSON);
+
+        // Act
+        HistoricalRateSeries series = HistoricalRateSeriesParser.parse(jsonParser);
+
+        // Assert
+        assertEquals(parseInChunks(JSON, JSON.length()), series);
+    }
+
+    private static HistoricalRateSeries parseInChunks(String json, int chunkSize) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        try (HistoricalRateSeriesParser parser = HistoricalRateSeriesParser.nonBlocking()) {
+            for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+                parser.feed(ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)));
+            }
+            return parser.finish();
+        }
+    }
+}
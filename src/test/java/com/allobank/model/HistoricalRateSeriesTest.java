@@ -0,0 +1,143 @@
+package com.allobank.model;
+
+import com.allobank.dto.HistoricalRatesResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoricalRateSeriesTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void testFrom_ProducesSameJsonAsResponse() throws Exception {
+        // Arrange
+        Map<LocalDate, Map<String, BigDecimal>> rates = new LinkedHashMap<>();
+        rates.put(LocalDate.of(2023, 12, 29), Map.of("USD", new BigDecimal("0.000065")));
+        rates.put(LocalDate.of(2024, 1, 2), Map.of("USD", new BigDecimal("0.000064")));
+        rates.put(LocalDate.of(2024, 1, 3), Map.of("USD", new BigDecimal("0.0000645")));
+        HistoricalRatesResponse response = HistoricalRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .startDate(LocalDate.of(2023, 12, 29))
+                .endDate(LocalDate.of(2024, 1, 3))
+                .rates(rates)
+                .build();
+
+        // Act
+        HistoricalRateSeries series = HistoricalRateSeries.from(response);
+
+        // Assert
+        assertEquals(objectMapper.writeValueAsString(response), objectMapper.writeValueAsString(series));
+    }
+
+    @Test
+    void testBuilder_SortsDatesAndKeepsMissingRates() {
+        // Act
+        HistoricalRateSeries series = HistoricalRateSeries.builder()
+                .addRate(LocalDate.of(2024, 1, 3), "USD", new BigDecimal("0.000064"))
+                .addRate(LocalDate.of(2024, 1, 1), "USD", new BigDecimal("0.000065"))
+                .addRate(LocalDate.of(2024, 1, 1), "EUR", new BigDecimal("0.000059"))
+                .build();
+
+        // Assert
+        assertEquals(2, series.size());
+        assertEquals(LocalDate.of(2024, 1, 1), series.getDate(0));
+        assertEquals(LocalDate.of(2024, 1, 3), series.getDate(1));
+        int eur = series.currencyIndex("EUR");
+        assertTrue(series.hasRate(eur, 0));
+        assertFalse(series.hasRate(eur, 1));
+        assertNull(series.getRate(eur, 1));
+        assertEquals(-1, series.currencyIndex("JPY"));
+    }
+
+    @Test
+    void testBuilder_RescalesColumnWithoutLosingPrecision() {
+        // Act
+        HistoricalRateSeries series = HistoricalRateSeries.builder()
+                .addRate(LocalDate.of(2024, 1, 1), "USD", new BigDecimal("15625"))
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("15625.123456789"))
+                .addRate(LocalDate.of(2024, 1, 3), "USD", new BigDecimal("1E+2"))
+                .build();
+
+        // Assert
+        int usd = series.currencyIndex("USD");
+        assertEquals(new BigDecimal("15625"), series.getRate(usd, 0));
+        assertEquals(new BigDecimal("15625.123456789"), series.getRate(usd, 1));
+        assertEquals(new BigDecimal("100"), series.getRate(usd, 2));
+    }
+
+    @Test
+    void testBuilder_LaterDuplicatePointWins() {
+        // Act
+        HistoricalRateSeries series = HistoricalRateSeries.builder()
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("0.000064"))
+                .addRate(LocalDate.of(2024, 1, 3), "USD", new BigDecimal("0.000063"))
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("0.000066"))
+                .build();
+
+        // Assert
+        assertEquals(2, series.size());
+        assertEquals(new BigDecimal("0.000066"), series.getRate(series.currencyIndex("USD"), 0));
+    }
+
+    @Test
+    void testEquals_SameContent() {
+        HistoricalRateSeries first = HistoricalRateSeries.builder()
+                .base("IDR")
+                .addRate(LocalDate.of(2024, 1, 1), "USD", new BigDecimal("0.000064"))
+                .build();
+        HistoricalRateSeries second = HistoricalRateSeries.builder()
+                .base("IDR")
+                .addRate(LocalDate.of(2024, 1, 1), "USD", new BigDecimal("0.000064"))
+                .build();
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void testSlice_BoundsBetweenDates() {
+        // Arrange
+        HistoricalRateSeries series = HistoricalRateSeries.builder()
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("0.000064"))
+                .addRate(LocalDate.of(2024, 1, 3), "USD", new BigDecimal("0.000065"))
+                .addRate(LocalDate.of(2024, 1, 5), "USD", new BigDecimal("0.000066"))
+                .build();
+
+        // Act
+        HistoricalRateSeries open = series.slice(null, LocalDate.of(2024, 1, 4));
+        HistoricalRateSeries empty = series.slice(LocalDate.of(2024, 1, 6), null);
+
+        // Assert
+        assertEquals(2, open.size());
+        assertEquals(LocalDate.of(2024, 1, 2), open.getStartDate());
+        assertEquals(LocalDate.of(2024, 1, 3), open.getEndDate());
+        assertEquals(0, empty.size());
+        assertEquals(LocalDate.of(2024, 1, 6), empty.getStartDate());
+    }
+
+    @Test
+    void testAsOf_ExactAndBeforeFirstDate() {
+        // Arrange
+        HistoricalRateSeries series = HistoricalRateSeries.builder()
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("0.000064"))
+                .addRate(LocalDate.of(2024, 1, 5), "USD", new BigDecimal("0.000066"))
+                .build();
+
+        // Act & Assert
+        assertEquals(LocalDate.of(2024, 1, 5), series.asOf(LocalDate.of(2024, 1, 5)).getDate(0));
+        assertEquals(LocalDate.of(2024, 1, 5), series.asOf(LocalDate.of(2024, 2, 1)).getDate(0));
+        assertNull(series.asOf(LocalDate.of(2024, 1, 1)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.allobank.model;
+
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.util.SpreadCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpreadQuoteTableTest {
+
+    private static final BigDecimal USD_RATE = new BigDecimal("0.000064");
+
+    @Test
+    void testFrom_QuotesEveryCurrencyInOrder() {
+        // Arrange
+        Map<String, BigDecimal> rates = new HashMap<>();
+        rates.put("USD", USD_RATE);
+        rates.put("JPY", new BigDecimal("0.0093"));
+        rates.put("EUR", new BigDecimal("0.000058"));
+        rates.put("IDR", BigDecimal.ONE);
+        rates.put("XXX", BigDecimal.ZERO);
+        LatestRatesResponse latest = LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(rates)
+                .build();
+
+        // Act
+        SpreadQuoteTable table = SpreadQuoteTable.from(latest, 895);
+
+        // Assert
+        assertEquals(3, table.size());
+        assertEquals("EUR", table.currency(0));
+        assertEquals("JPY", table.currency(1));
+        assertEquals("USD", table.currency(2));
+        assertEquals(-1, table.ordinal("IDR"));
+        assertEquals(-1, table.ordinal("XXX"));
+        assertEquals(new BigDecimal("0.00895"), table.getSpreadFactor());
+        assertEquals(LocalDate.of(2024, 1, 5), table.getDate());
+    }
+
+    @Test
+    void testBuyAndSell_MatchBigDecimalFormulas() {
+        // Arrange
+        LatestRatesResponse latest = LatestRatesResponse.builder()
+                .base("IDR")
+                .rates(Map.of("USD", USD_RATE))
+                .build();
+        BigDecimal spreadFactor = new BigDecimal("0.00895");
+
+        // Act
+        SpreadQuoteTable table = SpreadQuoteTable.from(latest, 895);
+        int usd = table.ordinal("USD");
+
+        // Assert
+        assertEquals(SpreadCalculator.calculateUsdBuySpreadIdr(USD_RATE, spreadFactor), table.buy(usd));
+        assertEquals(SpreadCalculator.calculateSellSpreadIdr(USD_RATE, spreadFactor), table.sell(usd));
+        assertTrue(table.buy(usd).compareTo(table.sell(usd)) > 0);
+    }
+}
@@ -1,7 +1,11 @@
 package com.allobank.runner;
 
+import com.allobank.config.RefreshProperties;
+import com.allobank.service.DataRefreshService;
+import com.allobank.service.DataSnapshotService;
 import com.allobank.service.InMemoryDataStore;
 import com.allobank.strategy.IDRDataFetcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,9 +13,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -27,6 +38,9 @@ class DataInitializationRunnerTest {
     @Mock
     private IDRDataFetcher fetcher3;
 
+    @Mock
+    private DataSnapshotService snapshotService;
+
     private InMemoryDataStore dataStore;
     private DataInitializationRunner runner;
 
@@ -34,7 +48,9 @@ class DataInitializationRunnerTest {
     void setUp() {
         dataStore = new InMemoryDataStore();
         List<IDRDataFetcher> fetchers = Arrays.asList(fetcher1, fetcher2, fetcher3);
-        runner = new DataInitializationRunner(fetchers, dataStore);
+        runner = new DataInitializationRunner(fetchers, dataStore, snapshotService,
+                new DataRefreshService(fetchers, dataStore, new RefreshProperties(),
+                        new SimpleMeterRegistry()));
 
         when(fetcher1.getResourceType()).thenReturn("resource1");
         when(fetcher2.getResourceType()).thenReturn("resource2");
@@ -80,5 +96,39 @@ class DataInitializationRunnerTest {
         verify(fetcher3, times(1)).fetchData();
         assertTrue(dataStore.isDataLoaded());
     }
-}
 
+    @Test
+    void testRun_WarmStartFromSnapshotDoesNotWaitForUpstream() {
+        // Arrange
+        when(snapshotService.restore()).thenReturn(Set.of("resource1", "resource2", "resource3"));
+        when(fetcher1.fetchData()).thenReturn(Mono.never());
+        when(fetcher2.fetchData()).thenReturn(Mono.never());
+        when(fetcher3.fetchData()).thenReturn(Mono.never());
+
+        // Act
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> runner.run(null));
+
+        // Assert
+        verify(fetcher1, times(1)).fetchData();
+        assertTrue(dataStore.isDataLoaded());
+    }
+
+    @Test
+    void testRun_DoesNotWaitForSlowFetchers() {
+        // Arrange
+        when(fetcher1.fetchData()).thenReturn(Mono.just("data1"));
+        when(fetcher2.fetchData()).thenReturn(Mono.never());
+        when(fetcher3.fetchData()).thenReturn(Mono.just("data3"));
+
+        // Act
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> runner.run(null));
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> dataStore.isResourceReady("resource1") && dataStore.isResourceReady("resource3"));
+        assertEquals("data1", dataStore.getData("resource1"));
+        assertEquals("data3", dataStore.getData("resource3"));
+        assertFalse(dataStore.isResourceReady("resource2"));
+        assertFalse(dataStore.isDataLoaded());
+    }
+}
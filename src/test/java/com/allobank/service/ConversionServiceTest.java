@@ -0,0 +1,176 @@
+package com.allobank.service;
+
+import com.allobank.config.ConversionProperties;
+import com.allobank.config.SpreadFactor;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.ConversionBatch;
+import com.allobank.util.SpreadCalculator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ConversionServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private InMemoryDataStore dataStore;
+    private ConversionService conversionService;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        conversionService = new ConversionService(new CrossRateService(dataStore, mock(ResourceResponses.class)),
+                new ConversionProperties(), new SpreadFactor("testuser"));
+
+        dataStore.storeData("latest_idr_rates", LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal("0.0000625"), "EUR", new BigDecimal("0.00005")))
+                .build());
+    }
+
+    @Test
+    void testConvert_UsesCrossRatesAndFlagsUnknownCurrencies() {
+        // Arrange
+        ConversionBatch batch = new ConversionBatch();
+        batch.add("USD", "IDR", new BigDecimal("2"));
+        batch.add("EUR", "USD", new BigDecimal("10"));
+        batch.add("USD", "XYZ", BigDecimal.ONE);
+
+        // Act
+        ConversionResult result = conversionService.convert(batch, latest(), false);
+
+        // Assert
+        assertEquals(LocalDate.of(2024, 1, 5), result.ratesDate());
+        assertEquals("32000", result.converted()[0].toPlainString());
+        assertEquals("12.50", result.converted()[1].toPlainString());
+        assertNull(result.rates()[2]);
+        assertNull(result.converted()[2]);
+    }
+
+    @Test
+    void testConvert_DecimalAmountsAreConvertedExactly() throws IOException {
+        // Arrange
+        ConversionBatch batch = new ConversionBatch();
+        batch.add("EUR", "USD", new BigDecimal("1234567.89"));
+        batch.add("IDR", "USD", new BigDecimal("0.1"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        conversionService.write(conversionService.convert(batch, latest(), false), out);
+
+        // Assert
+        assertEquals("[{\"from\":\"EUR\",\"to\":\"USD\",\"amount\":1234567.89,\"rate\":1.25,"
+                        + "\"converted\":1543209.8625},"
+                        + "{\"from\":\"IDR\",\"to\":\"USD\",\"amount\":0.1,\"rate\":0.0000625,"
+                        + "\"converted\":0.00000625}]",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testConvert_SpreadMatchesUsdBuySpreadIdr() {
+        // Arrange
+        ConversionBatch batch = new ConversionBatch();
+        batch.add("IDR", "USD", new BigDecimal("1000000"));
+        BigDecimal usdBuySpreadIdr = SpreadCalculator.calculateUsdBuySpreadIdr(new BigDecimal("0.0000625"),
+                SpreadCalculator.calculateSpreadFactor("testuser"));
+
+        // Act
+        ConversionResult result = conversionService.convert(batch, latest(), true);
+
+        // Assert
+        assertEquals(0, BigDecimal.ONE.compareTo(
+                result.rates()[0].multiply(usdBuySpreadIdr).setScale(8, RoundingMode.HALF_UP)));
+        assertEquals(0, result.rates()[0].movePointRight(6).compareTo(result.converted()[0]));
+    }
+
+    @Test
+    void testConvert_SameCurrencyIsNotSpread() {
+        // Arrange
+        ConversionBatch batch = new ConversionBatch();
+        batch.add("USD", "USD", new BigDecimal("250.75"));
+
+        // Act
+        ConversionResult result = conversionService.convert(batch, latest(), true);
+
+        // Assert
+        assertEquals(BigDecimal.ONE, result.rates()[0]);
+        assertEquals(new BigDecimal("250.75"), result.converted()[0]);
+    }
+
+    @Test
+    void testWrite_StreamsJsonArrayAcrossChunks() throws IOException {
+        // Arrange
+        ConversionBatch batch = new ConversionBatch();
+        int size = ConversionService.CHUNK_SIZE * 2 + 3;
+        for (int i = 0; i < size; i++) {
+            batch.add("USD", i == size - 1 ? "XYZ" : "IDR", BigDecimal.valueOf(i));
+        }
+        ConversionResult result = conversionService.convert(batch, latest(), false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        conversionService.write(result, out);
+        String reactive = String.join("", conversionService.encode(result)
+                .map(chunk -> new String(chunk, StandardCharsets.UTF_8))
+                .collectList()
+                .block());
+
+        // Assert
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertEquals(size, json.size());
+        assertEquals(16000.0 * 1500, json.get(1500).get("converted").asDouble(), 1e-6);
+        assertEquals("USD", json.get(1500).get("from").asText());
+        assertTrue(json.get(size - 1).has("error"));
+        assertEquals(out.toString(StandardCharsets.UTF_8), reactive);
+    }
+
+    @Test
+    void testWrite_EmptyBatch() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        conversionService.write(conversionService.convert(new ConversionBatch(), latest(), false), out);
+
+        // Assert
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testParse_ChunkedBodyIsParsedIncrementally() {
+        // Arrange
+        byte[] body = "[{\"from\":\"USD\",\"to\":\"IDR\",\"amount\":1}]".getBytes(StandardCharsets.UTF_8);
+        Flux<DataBuffer> chunks = Flux.range(0, body.length)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[]{body[i]}));
+
+        // Act & Assert
+        StepVerifier.create(conversionService.parse(chunks))
+                .assertNext(batch -> assertEquals("IDR", batch.getTo(0)))
+                .verifyComplete();
+        StepVerifier.create(conversionService.parse(Flux.just(
+                        DefaultDataBufferFactory.sharedInstance.wrap("[1]".getBytes(StandardCharsets.UTF_8)))))
+                .expectError(IOException.class)
+                .verify();
+    }
+
+    private StoredResource latest() {
+        return dataStore.getResource("latest_idr_rates");
+    }
+}
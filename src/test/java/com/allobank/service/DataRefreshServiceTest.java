@@ -0,0 +1,240 @@
+package com.allobank.service;
+
+import com.allobank.config.RefreshProperties;
+import com.allobank.strategy.IDRDataFetcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataRefreshServiceTest {
+
+    @Mock
+    private IDRDataFetcher fetcher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryDataStore dataStore;
+    private DataRefreshService refreshService;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        refreshService = new DataRefreshService(List.of(fetcher), dataStore, new RefreshProperties(),
+                meterRegistry);
+
+        lenient().when(fetcher.getResourceType()).thenReturn("resource1");
+        dataStore.storeData("resource1", "data1");
+        dataStore.markDataLoaded();
+    }
+
+    @Test
+    void testRefresh_ChangedDataIsPublished() {
+        // Arrange
+        when(fetcher.fetchData()).thenReturn(Mono.just("data2"));
+
+        // Act & Assert
+        StepVerifier.create(refreshService.refresh(fetcher))
+                .expectNext(true)
+                .verifyComplete();
+        assertEquals("data2", dataStore.getData("resource1"));
+    }
+
+    @Test
+    void testRefresh_StoresOffTheThreadThatEmittedTheData() {
+        // Arrange
+        AtomicReference<String> storingThread = new AtomicReference<>();
+        dataStore.addListener(resource -> storingThread.set(Thread.currentThread().getName()));
+        when(fetcher.fetchData()).thenReturn(Mono.just((Object) "data2")
+                .publishOn(Schedulers.newSingle("event-loop")));
+
+        // Act
+        refreshService.refresh(fetcher).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertTrue(storingThread.get().startsWith("boundedElastic"), storingThread.get());
+    }
+
+    @Test
+    void testRefresh_UnchangedDataKeepsSnapshot() {
+        // Arrange
+        StoredResource original = dataStore.getResource("resource1");
+        when(fetcher.fetchData()).thenReturn(Mono.just("data1"));
+
+        // Act & Assert
+        StepVerifier.create(refreshService.refresh(fetcher))
+                .expectNext(false)
+                .verifyComplete();
+        assertSame(original, dataStore.getResource("resource1"));
+    }
+
+    @Test
+    void testRefresh_ErrorKeepsLastGoodSnapshot() {
+        // Arrange
+        when(fetcher.fetchData()).thenReturn(Mono.error(new RuntimeException("Upstream down")));
+
+        // Act & Assert
+        StepVerifier.create(refreshService.refresh(fetcher))
+                .expectNext(false)
+                .verifyComplete();
+        assertEquals("data1", dataStore.getData("resource1"));
+    }
+
+    @Test
+    void testRefresh_FailureMarksSnapshotStaleUntilNextSuccess() {
+        // Arrange
+        when(fetcher.fetchData()).thenReturn(Mono.error(new RuntimeException("Upstream down")), Mono.just("data2"));
+
+        // Act
+        refreshService.refresh(fetcher).block();
+        Optional<Duration> staleAge = refreshService.getStaleAge("resource1");
+        refreshService.refresh(fetcher).block();
+
+        // Assert
+        assertTrue(staleAge.isPresent());
+        assertFalse(staleAge.get().isNegative());
+        assertTrue(refreshService.getStaleAge("resource1").isEmpty());
+        assertTrue(refreshService.getStaleAge("unknown").isEmpty());
+    }
+
+    @Test
+    void testRefresh_FailingListenerStillCountsAsSuccess() {
+        // Arrange
+        dataStore.addListener(resource -> {
+            throw new IllegalStateException("Listener failed");
+        });
+        when(fetcher.fetchData()).thenReturn(Mono.just("data2"));
+
+        // Act & Assert
+        StepVerifier.create(refreshService.refresh(fetcher))
+                .expectNext(true)
+                .verifyComplete();
+        assertTrue(refreshService.getStaleAge("resource1").isEmpty());
+        assertEquals(1, meterRegistry.get("finance.fetch")
+                .tags("resource", "resource1", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void testRefresh_OpenCircuitRejectsWithoutCallingUpstream() {
+        // Arrange
+        RefreshProperties properties = new RefreshProperties();
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(5));
+        DataRefreshService service = new DataRefreshService(List.of(fetcher), dataStore, properties, meterRegistry);
+        when(fetcher.fetchData()).thenReturn(Mono.error(new RuntimeException("Upstream down")));
+
+        // Act
+        service.refresh(fetcher).block();
+        service.refresh(fetcher).block();
+        Boolean rejected = service.refresh(fetcher).block();
+
+        // Assert
+        assertFalse(rejected);
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, service.getCircuitState("resource1"));
+        verify(fetcher, times(2)).fetchData();
+        assertEquals("data1", dataStore.getData("resource1"));
+        assertEquals(1, meterRegistry.get("finance.fetch")
+                .tags("resource", "resource1", "outcome", "rejected").timer().count());
+        assertEquals(2, meterRegistry.get("finance.upstream.circuit.state").tag("resource", "resource1").gauge()
+                .value());
+    }
+
+    @Test
+    void testRefresh_RecordsFetchLatencyPayloadSizeAndOutcome() {
+        // Arrange
+        when(fetcher.fetchData()).thenReturn(Mono.just("data2"), Mono.error(new RuntimeException("Upstream down")));
+
+        // Act
+        refreshService.refresh(fetcher).block();
+        refreshService.refresh(fetcher).block();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("finance.fetch")
+                .tags("resource", "resource1", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("finance.fetch")
+                .tags("resource", "resource1", "outcome", "failure").timer().count());
+        assertEquals(dataStore.getResource("resource1").getJson().length,
+                meterRegistry.get("finance.fetch.payload.size").tag("resource", "resource1").summary().totalAmount());
+    }
+
+    @Test
+    void testRefresh_ConcurrentCallsShareOneUpstreamFetch() {
+        // Arrange
+        AtomicInteger subscriptions = new AtomicInteger();
+        when(fetcher.fetchData()).thenReturn(Mono.just((Object) "data2")
+                .delayElement(Duration.ofMillis(100))
+                .doOnSubscribe(subscription -> subscriptions.incrementAndGet()));
+
+        // Act
+        List<Boolean> results = Flux.range(0, 10)
+                .flatMap(i -> refreshService.refresh(fetcher))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(10, results.size());
+        assertTrue(results.stream().allMatch(Boolean::booleanValue));
+        assertEquals(1, subscriptions.get());
+        verify(fetcher, times(1)).fetchData();
+    }
+
+    @Test
+    void testRefresh_NextCallAfterCompletionFetchesAgain() {
+        // Arrange
+        when(fetcher.fetchData()).thenReturn(Mono.just("data2"), Mono.just("data3"));
+
+        // Act
+        refreshService.refresh(fetcher).block();
+        refreshService.refresh(fetcher).block();
+
+        // Assert
+        assertEquals("data3", dataStore.getData("resource1"));
+        verify(fetcher, times(2)).fetchData();
+    }
+
+    @Test
+    void testLoadOnDemand_ConcurrentMissesShareOneFetch() {
+        // Arrange
+        when(fetcher.fetchData()).thenReturn(Mono.just((Object) "data2").delayElement(Duration.ofMillis(100)));
+
+        // Act
+        List<StoredResource> results = Flux.range(0, 5)
+                .flatMap(i -> refreshService.fetchOnDemand("resource1"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        Optional<StoredResource> unknown = refreshService.loadOnDemand("unknown");
+
+        // Assert
+        assertEquals(5, results.size());
+        assertTrue(results.stream().allMatch(resource -> "data2".equals(resource.getData())));
+        assertTrue(unknown.isEmpty());
+        verify(fetcher, times(1)).fetchData();
+    }
+
+    @Test
+    void testLoadOnDemand_DisabledReturnsEmpty() {
+        // Arrange
+        RefreshProperties properties = new RefreshProperties();
+        properties.getReadThrough().setEnabled(false);
+        DataRefreshService service = new DataRefreshService(List.of(fetcher), dataStore, properties, meterRegistry);
+
+        // Act & Assert
+        assertTrue(service.loadOnDemand("resource1").isEmpty());
+        verify(fetcher, never()).fetchData();
+    }
+}
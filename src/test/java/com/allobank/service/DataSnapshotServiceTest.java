@@ -0,0 +1,179 @@
+package com.allobank.service;
+
+import com.allobank.config.SnapshotProperties;
+import com.allobank.dto.CurrenciesResponse;
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.HistoricalRateSeries;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSnapshotServiceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private SnapshotProperties snapshotProperties;
+    private InMemoryDataStore dataStore;
+    private DataSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setFile(tempDir.resolve("snapshot.bin"));
+        dataStore = new InMemoryDataStore(objectMapper);
+        snapshotService = new DataSnapshotService(dataStore, snapshotProperties, objectMapper);
+        snapshotService.registerListener();
+    }
+
+    @Test
+    void testStoreData_WritesSnapshotThatRestoresIdenticalResources() throws Exception {
+        // Arrange
+        LatestRatesResponse latest = LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal("0.000064")))
+                .usdBuySpreadIdr(new BigDecimal("15686.27"))
+                .build();
+        HistoricalRateSeries historical = HistoricalRateSeries.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 3))
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("0.000064"))
+                .addRate(LocalDate.of(2024, 1, 3), "USD", new BigDecimal("0.0000645"))
+                .build();
+        CurrenciesResponse currencies = CurrenciesResponse.builder()
+                .currencies(Map.of("IDR", "Indonesian Rupiah"))
+                .build();
+
+        // Act
+        dataStore.storeData("latest_idr_rates", latest);
+        dataStore.storeData("historical_idr_usd", historical);
+        dataStore.storeData("supported_currencies", currencies);
+        snapshotService.awaitPendingWrites();
+
+        InMemoryDataStore restoredStore = new InMemoryDataStore(objectMapper);
+        Set<String> restored = new DataSnapshotService(restoredStore, snapshotProperties, objectMapper).restore();
+
+        // Assert
+        assertEquals(Set.of("latest_idr_rates", "historical_idr_usd", "supported_currencies"), restored);
+        assertEquals(latest, restoredStore.getData("latest_idr_rates"));
+        assertEquals(historical, restoredStore.getData("historical_idr_usd"));
+        assertEquals(currencies, restoredStore.getData("supported_currencies"));
+        StoredResource original = dataStore.getResource("historical_idr_usd");
+        StoredResource copy = restoredStore.getResource("historical_idr_usd");
+        assertArrayEquals(original.getJson(), copy.getJson());
+        assertEquals(original.getEtag(), copy.getEtag());
+        assertEquals(original.getStoredAt().toEpochMilli(), copy.getStoredAt().toEpochMilli());
+    }
+
+    @Test
+    void testStoreData_BackToBackChangesPersistLatestState() throws Exception {
+        // Arrange
+        LatestRatesResponse latest = sampleLatest();
+        latest.setRates(Map.of("USD", new BigDecimal("0.000066")));
+
+        // Act
+        dataStore.storeData("latest_idr_rates", sampleLatest());
+        dataStore.storeData("supported_currencies", CurrenciesResponse.builder()
+                .currencies(Map.of("IDR", "Indonesian Rupiah"))
+                .build());
+        dataStore.storeData("latest_idr_rates", latest);
+        snapshotService.awaitPendingWrites();
+
+        InMemoryDataStore restoredStore = new InMemoryDataStore(objectMapper);
+        Set<String> restored = new DataSnapshotService(restoredStore, snapshotProperties, objectMapper).restore();
+
+        // Assert
+        assertEquals(Set.of("latest_idr_rates", "supported_currencies"), restored);
+        assertEquals(latest, restoredStore.getData("latest_idr_rates"));
+    }
+
+    @Test
+    void testRestore_MissingFile() {
+        assertTrue(snapshotService.restore().isEmpty());
+    }
+
+    @Test
+    void testRestore_CorruptedFileIsIgnored() throws Exception {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", sampleLatest());
+        snapshotService.awaitPendingWrites();
+        byte[] content = Files.readAllBytes(snapshotProperties.getFile());
+        content[content.length / 2] ^= 0x01;
+        Files.write(snapshotProperties.getFile(), content);
+        InMemoryDataStore restoredStore = new InMemoryDataStore(objectMapper);
+
+        // Act
+        Set<String> restored = new DataSnapshotService(restoredStore, snapshotProperties, objectMapper).restore();
+
+        // Assert
+        assertTrue(restored.isEmpty());
+        assertTrue(restoredStore.getResources().isEmpty());
+    }
+
+    @Test
+    void testRestore_UnsupportedVersionIsIgnored() throws Exception {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", sampleLatest());
+        snapshotService.awaitPendingWrites();
+        byte[] content = Files.readAllBytes(snapshotProperties.getFile());
+        ByteBuffer.wrap(content).putShort(Integer.BYTES, (short) (DataSnapshotService.FORMAT_VERSION + 1));
+        Files.write(snapshotProperties.getFile(), content);
+
+        // Act & Assert
+        assertTrue(snapshotService.restore().isEmpty());
+    }
+
+    @Test
+    void testRestore_StaleFileIsIgnored() throws Exception {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", sampleLatest());
+        snapshotService.awaitPendingWrites();
+        Thread.sleep(20);
+        snapshotProperties.setMaxAge(Duration.ofMillis(10));
+
+        // Act & Assert
+        assertTrue(snapshotService.restore().isEmpty());
+    }
+
+    @Test
+    void testRestore_Disabled() throws Exception {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", sampleLatest());
+        snapshotService.awaitPendingWrites();
+        snapshotProperties.setEnabled(false);
+
+        // Act & Assert
+        assertTrue(snapshotService.restore().isEmpty());
+    }
+
+    private static LatestRatesResponse sampleLatest() {
+        return LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal("0.000064")))
+                .build();
+    }
+}
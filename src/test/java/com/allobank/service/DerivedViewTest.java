@@ -0,0 +1,68 @@
+package com.allobank.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DerivedViewTest {
+
+    private final List<String> derivedFrom = new ArrayList<>();
+    private InMemoryDataStore dataStore;
+    private DerivedView<String, Integer> view;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        view = new DerivedView<>("resource1", String.class, data -> {
+            derivedFrom.add(data);
+            return data.length();
+        });
+    }
+
+    @Test
+    void testGet_DerivesOncePerStoredEntry() {
+        // Arrange
+        dataStore.storeData("resource1", "data1");
+        StoredResource first = dataStore.getResource("resource1");
+
+        // Act
+        view.get(first);
+        view.get(first);
+        dataStore.storeData("resource1", "updated");
+        Integer updated = view.get(dataStore.getResource("resource1"));
+
+        // Assert
+        assertEquals(7, updated);
+        assertEquals(List.of("data1", "updated"), derivedFrom);
+    }
+
+    @Test
+    void testDeriveOnPublish_DerivesEachPublishedVersionOfItsResource() {
+        // Arrange
+        view.deriveOnPublish(dataStore);
+
+        // Act
+        dataStore.storeData("resource1", "data1");
+        dataStore.storeData("resource2", "other");
+        Integer value = view.get(dataStore.getResource("resource1"));
+
+        // Assert
+        assertEquals(5, value);
+        assertEquals(List.of("data1"), derivedFrom);
+    }
+
+    @Test
+    void testGet_RejectsDataOfAnotherType() {
+        // Arrange
+        dataStore.storeData("resource1", 42);
+
+        // Act & Assert
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> view.get(dataStore.getResource("resource1")));
+        assertEquals("Stored resource1 is not held as a String", error.getMessage());
+    }
+}
@@ -0,0 +1,61 @@
+package com.allobank.service;
+
+import com.allobank.model.HistoricalRateAnalytics;
+import com.allobank.model.HistoricalRateSeries;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HistoricalAnalyticsServiceTest {
+
+    private InMemoryDataStore dataStore;
+    private HistoricalAnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        analyticsService = new HistoricalAnalyticsService(dataStore,
+                new ResourceResponses(dataStore, mock(DataRefreshService.class)));
+        analyticsService.registerListener();
+    }
+
+    @Test
+    void testRegisterListener_AnalyticsAreBuiltWhenSeriesIsPublished() {
+        try (MockedStatic<HistoricalRateAnalytics> analytics = mockStatic(HistoricalRateAnalytics.class,
+                CALLS_REAL_METHODS)) {
+            // Act
+            dataStore.storeData("historical_idr_usd", RateFixtures.historicalRates("0.000066"));
+            dataStore.storeData("latest_idr_rates", RateFixtures.latestRates("0.000064"));
+
+            // Assert
+            analytics.verify(() -> HistoricalRateAnalytics.from(any(HistoricalRateSeries.class)), times(1));
+            StoredResource historical = dataStore.getResource("historical_idr_usd");
+            assertSame(analyticsService.getAnalytics(historical), analyticsService.getAnalytics(historical));
+            analytics.verify(() -> HistoricalRateAnalytics.from(any(HistoricalRateSeries.class)), times(1));
+        }
+    }
+
+    @Test
+    void testRegisterListener_RefreshedSeriesIsRebuiltBeforeAnyRequest() {
+        try (MockedStatic<HistoricalRateAnalytics> analytics = mockStatic(HistoricalRateAnalytics.class,
+                CALLS_REAL_METHODS)) {
+            // Arrange
+            dataStore.storeData("historical_idr_usd", RateFixtures.historicalRates("0.000066"));
+
+            // Act
+            dataStore.storeData("historical_idr_usd", RateFixtures.historicalRates("0.000067"));
+
+            // Assert
+            analytics.verify(() -> HistoricalRateAnalytics.from(any(HistoricalRateSeries.class)), times(2));
+            HistoricalRateAnalytics rebuilt = analyticsService.getAnalytics(dataStore.getResource("historical_idr_usd"));
+            assertEquals(0.000067, rebuilt.statistics(rebuilt.currencyIndex("USD"),
+                    LocalDate.of(2024, 1, 5), null).max(), 1e-15);
+            analytics.verify(() -> HistoricalRateAnalytics.from(any(HistoricalRateSeries.class)), times(2));
+        }
+    }
+}
@@ -1,8 +1,24 @@
 package com.allobank.service;
 
+import com.allobank.dto.LatestRatesResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class InMemoryDataStoreTest {
@@ -81,5 +97,154 @@ class InMemoryDataStoreTest {
         assertTrue(allData.containsKey("resource1"));
         assertTrue(allData.containsKey("resource2"));
     }
-}
 
+    @Test
+    void testStoreData_EncodesJsonArrayOnce() {
+        // Arrange
+        LatestRatesResponse data = LatestRatesResponse.builder()
+                .amount(BigDecimal.ONE)
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 15))
+                .rates(Map.of("USD", new BigDecimal("0.000064")))
+                .usdBuySpreadIdr(new BigDecimal("15626.3437500000"))
+                .build();
+
+        // Act
+        dataStore.storeData("latest_idr_rates", data);
+        StoredResource resource = dataStore.getResource("latest_idr_rates");
+
+        // Assert
+        assertNotNull(resource);
+        assertSame(data, resource.getData());
+        assertEquals("[{\"amount\":1,\"base\":\"IDR\",\"date\":\"2024-01-15\","
+                        + "\"rates\":{\"USD\":0.000064},\"USD_BuySpread_IDR\":15626.3437500000}]",
+                new String(resource.getJson(), StandardCharsets.UTF_8));
+        assertSame(resource.getJson(), dataStore.getResource("latest_idr_rates").getJson());
+    }
+
+    @Test
+    void testStoreData_UnchangedDataIsNotRepublished() {
+        // Arrange
+        dataStore.storeData("resource1", "data1");
+        dataStore.markDataLoaded();
+        StoredResource original = dataStore.getResource("resource1");
+
+        // Act
+        boolean published = dataStore.storeData("resource1", "data1");
+
+        // Assert
+        assertFalse(published);
+        assertSame(original, dataStore.getResource("resource1"));
+    }
+
+    @Test
+    void testStoreData_ChangedDataReplacesSnapshot() {
+        // Arrange
+        dataStore.storeData("resource1", "data1");
+        dataStore.storeData("resource2", "data2");
+        dataStore.markDataLoaded();
+
+        // Act
+        boolean published = dataStore.storeData("resource1", "updated");
+
+        // Assert
+        assertTrue(published);
+        assertEquals("updated", dataStore.getData("resource1"));
+        assertEquals("data2", dataStore.getData("resource2"));
+    }
+
+    @Test
+    void testStoreData_ConcurrentEqualStoresPublishOnce() throws Exception {
+        // Arrange
+        int writers = 8;
+        AtomicInteger notifications = new AtomicInteger();
+        dataStore.addListener(resource -> notifications.incrementAndGet());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < writers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return dataStore.storeData("resource1", new String("data1"));
+                }));
+            }
+            start.countDown();
+            int published = 0;
+            for (Future<Boolean> result : results) {
+                published += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+
+            // Assert
+            assertEquals(1, published);
+            assertEquals(1, notifications.get());
+            assertEquals("data1", dataStore.getData("resource1"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStoreData_FailingListenerDoesNotSkipOthers() {
+        // Arrange
+        List<String> notified = new ArrayList<>();
+        dataStore.addListener(resource -> {
+            throw new IllegalStateException("Listener failed");
+        });
+        dataStore.addListener(resource -> notified.add(resource.getResourceType()));
+
+        // Act
+        boolean published = dataStore.storeData("resource1", "data1");
+
+        // Assert
+        assertTrue(published);
+        assertEquals("data1", dataStore.getData("resource1"));
+        assertEquals(List.of("resource1"), notified);
+    }
+
+    @Test
+    void testGetResource_NotFound() {
+        assertNull(dataStore.getResource("non_existent"));
+    }
+
+    @Test
+    void testGetResource_RecordsHitsMissesAndSnapshotAge() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemoryDataStore instrumentedStore = new InMemoryDataStore(new ObjectMapper(), meterRegistry);
+        instrumentedStore.storeData("resource1", "data1");
+
+        // Act
+        instrumentedStore.getResource("resource1");
+        instrumentedStore.getResource("resource1");
+        instrumentedStore.getResource("resource2");
+
+        // Assert
+        assertEquals(2, meterRegistry.get("finance.store.lookups")
+                .tags("resource", "resource1", "result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("finance.store.lookups")
+                .tags("resource", "resource2", "result", "miss").counter().count());
+        double age = meterRegistry.get("finance.store.snapshot.age").tag("resource", "resource1")
+                .timeGauge().value(TimeUnit.SECONDS);
+        assertTrue(age >= 0 && age < 60, "Snapshot age should be recent, was " + age);
+    }
+
+    @Test
+    void testPeek_DoesNotRecordLookups() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemoryDataStore instrumentedStore = new InMemoryDataStore(new ObjectMapper(), meterRegistry);
+        instrumentedStore.storeData("resource1", "data1");
+
+        // Act
+        StoredResource peeked = instrumentedStore.peek("resource1");
+        StoredResource missing = instrumentedStore.peek("resource2");
+
+        // Assert
+        assertEquals("data1", peeked.getData());
+        assertNull(missing);
+        assertTrue(meterRegistry.find("finance.store.lookups").counters().isEmpty());
+    }
+}
@@ -0,0 +1,41 @@
+package com.allobank.service;
+
+import com.allobank.dto.LatestRatesResponse;
+import com.allobank.model.HistoricalRateSeries;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Stored data shared by the tests of the endpoints derived from it.
+ */
+public final class RateFixtures {
+
+    private RateFixtures() {
+    }
+
+    /**
+     * Latest IDR rates of 2024-01-05 for USD and EUR; only the USD rate varies between fixtures.
+     */
+    public static LatestRatesResponse latestRates(String usdRate) {
+        return LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal(usdRate), "EUR", new BigDecimal("0.000058")))
+                .build();
+    }
+
+    /**
+     * Historical USD rates of 2024-01-02, 01-03 and 01-05; only the last rate varies between fixtures.
+     */
+    public static HistoricalRateSeries historicalRates(String lastUsdRate) {
+        return HistoricalRateSeries.builder()
+                .base("IDR")
+                .addRate(LocalDate.of(2024, 1, 2), "USD", new BigDecimal("0.000064"))
+                .addRate(LocalDate.of(2024, 1, 3), "USD", new BigDecimal("0.000065"))
+                .addRate(LocalDate.of(2024, 1, 5), "USD", new BigDecimal(lastUsdRate))
+                .build();
+    }
+}
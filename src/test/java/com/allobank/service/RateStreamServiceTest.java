@@ -0,0 +1,129 @@
+package com.allobank.service;
+
+import com.allobank.config.StreamProperties;
+import com.allobank.dto.LatestRatesResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateStreamServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryDataStore dataStore;
+    private RateStreamService rateStreamService;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        StreamProperties properties = new StreamProperties();
+        properties.setBufferSize(2);
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        rateStreamService = new RateStreamService(dataStore, objectMapper, properties, meterRegistry);
+        rateStreamService.registerListener();
+    }
+
+    @Test
+    void testSubscribe_EmitsCurrentRatesThenOnlyChanges() {
+        // Arrange
+        storeRates("0.0000625");
+
+        // Act & Assert
+        StepVerifier.create(rateStreamService.subscribe(null))
+                .assertNext(event -> assertEquals(currentId(), event.id()))
+                .then(() -> storeRates("0.0000625"))
+                .then(() -> storeRates("0.0000630"))
+                .assertNext(event -> {
+                    assertEquals(currentId(), event.id());
+                    assertTrue(event.json().contains("0.0000630"), event.json());
+                    assertEquals("id:" + event.id() + "\nevent:latest_idr_rates\ndata:" + event.json() + "\n\n",
+                            new String(event.frame(), StandardCharsets.UTF_8));
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(0, rateStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void testSubscribe_EveryChangeIsEncodedOnceForAllSubscribers() throws Exception {
+        // Arrange
+        storeRates("0.0000625");
+        CompletableFuture<List<RateUpdateEvent>> first = rateStreamService.subscribe(null).take(2).collectList()
+                .toFuture();
+        CompletableFuture<List<RateUpdateEvent>> second = rateStreamService.subscribe(null).take(2).collectList()
+                .toFuture();
+
+        // Act
+        storeRates("0.0000630");
+
+        // Assert
+        RateUpdateEvent change = first.get(5, TimeUnit.SECONDS).get(1);
+        assertSame(change, second.get(5, TimeUnit.SECONDS).get(1));
+        assertEquals(currentId(), change.id());
+    }
+
+    @Test
+    void testSubscribe_LastEventIdOfCurrentRatesSkipsThem() {
+        // Arrange
+        storeRates("0.0000625");
+        String lastEventId = currentId();
+
+        // Act & Assert
+        StepVerifier.create(rateStreamService.subscribe(lastEventId))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .then(() -> storeRates("0.0000630"))
+                .assertNext(event -> assertNotEquals(lastEventId, event.id()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testSubscribe_SlowSubscriberIsDetachedWhenBufferIsFull() {
+        // Act & Assert
+        StepVerifier.create(rateStreamService.subscribe(null), 0)
+                .then(() -> {
+                    storeRates("0.0000625");
+                    storeRates("0.0000630");
+                    storeRates("0.0000635");
+                })
+                .then(() -> assertEquals(1.0, meterRegistry.get("finance.stream.dropped").counter().count()))
+                .then(() -> storeRates("0.0000640"))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(2)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(0, rateStreamService.getSubscriberCount());
+    }
+
+    private void storeRates(String usd) {
+        dataStore.storeData(CrossRateService.SOURCE_RESOURCE_TYPE, LatestRatesResponse.builder()
+                .amount(new BigDecimal("1.0"))
+                .base("IDR")
+                .date(LocalDate.of(2024, 1, 5))
+                .rates(Map.of("USD", new BigDecimal(usd)))
+                .build());
+    }
+
+    private String currentId() {
+        String etag = dataStore.getResource(CrossRateService.SOURCE_RESOURCE_TYPE).getEtag();
+        return etag.substring(1, etag.length() - 1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.allobank.service;
+
+import com.allobank.config.SpreadFactor;
+import com.allobank.model.SpreadQuoteTable;
+import com.allobank.util.SpreadCalculator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SpreadQuoteServiceTest {
+
+    private final ObjectMapper objectMapper = spy(new ObjectMapper());
+    private final SpreadFactor spreadFactor = new SpreadFactor("testuser");
+    private InMemoryDataStore dataStore;
+    private SpreadQuoteService spreadQuoteService;
+
+    @BeforeEach
+    void setUp() {
+        dataStore = new InMemoryDataStore();
+        spreadQuoteService = new SpreadQuoteService(dataStore, objectMapper,
+                new ResourceResponses(dataStore, mock(DataRefreshService.class)), spreadFactor);
+        spreadQuoteService.registerListener();
+    }
+
+    @Test
+    void testRegisterListener_QuotesAreEncodedWhenRatesArePublished() throws Exception {
+        // Act
+        dataStore.storeData("latest_idr_rates", RateFixtures.latestRates("0.000064"));
+        dataStore.storeData("supported_currencies", "unrelated");
+
+        // Assert
+        verify(objectMapper, times(1)).writeValueAsBytes(any(SpreadQuoteTable.class));
+        StoredResource latest = dataStore.getResource("latest_idr_rates");
+        assertSame(spreadQuoteService.getJson(latest), spreadQuoteService.getJson(latest));
+        verify(objectMapper, times(1)).writeValueAsBytes(any(SpreadQuoteTable.class));
+    }
+
+    @Test
+    void testRegisterListener_RefreshedRatesAreQuotedBeforeAnyRequest() throws Exception {
+        // Arrange
+        dataStore.storeData("latest_idr_rates", RateFixtures.latestRates("0.000064"));
+
+        // Act
+        dataStore.storeData("latest_idr_rates", RateFixtures.latestRates("0.000065"));
+
+        // Assert
+        verify(objectMapper, times(2)).writeValueAsBytes(any(SpreadQuoteTable.class));
+        SpreadQuoteTable table = spreadQuoteService.getTable(dataStore.getResource("latest_idr_rates"));
+        assertEquals(SpreadCalculator.calculateUsdBuySpreadIdr(new BigDecimal("0.000065"), spreadFactor.getUnits()),
+                table.buy(table.ordinal("USD")));
+        verify(objectMapper, times(2)).writeValueAsBytes(any(SpreadQuoteTable.class));
+    }
+}
@@ -0,0 +1,99 @@
+package com.allobank.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(3, Duration.ofSeconds(30), clock);
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        // Act
+        failTimes(2);
+        circuitBreaker.onSuccess();
+        failTimes(2);
+        boolean closed = circuitBreaker.tryAcquire();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertTrue(closed);
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testLetsOneTrialThroughAfterOpenDuration() {
+        // Arrange
+        failTimes(3);
+        clock.advance(Duration.ofSeconds(30));
+
+        // Act
+        boolean trial = circuitBreaker.tryAcquire();
+        boolean concurrent = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess();
+
+        // Assert
+        assertTrue(trial);
+        assertFalse(concurrent);
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testFailedTrialReopens() {
+        // Arrange
+        failTimes(3);
+        clock.advance(Duration.ofSeconds(31));
+        assertTrue(circuitBreaker.tryAcquire());
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        clock.advance(Duration.ofSeconds(29));
+        assertFalse(circuitBreaker.tryAcquire());
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    private void failTimes(int failures) {
+        for (int i = 0; i < failures; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-05T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,23 +1,34 @@
 package com.allobank.strategy.impl;
 
 import com.allobank.config.FrankfurterApiProperties;
-import com.allobank.dto.HistoricalRatesResponse;
+import com.allobank.model.HistoricalRateSeries;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.core.publisher.Mono;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,10 +38,10 @@ class HistoricalIdrUsdStrategyTest {
     private WebClient webClient;
 
     @Mock
-    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+    private WebClient.RequestHeadersUriSpec<?> requestHeadersUriSpec;
 
     @Mock
-    private WebClient.RequestHeadersSpec requestHeadersSpec;
+    private WebClient.RequestHeadersSpec<?> requestHeadersSpec;
 
     @Mock
     private WebClient.ResponseSpec responseSpec;
@@ -56,28 +67,26 @@ class HistoricalIdrUsdStrategyTest {
     @Test
     void testFetchData_Success() {
         // Arrange
-        HistoricalRatesResponse mockResponse = HistoricalRatesResponse.builder()
-                .amount(BigDecimal.ONE)
-                .base("IDR")
-                .startDate(LocalDate.of(2024, 1, 1))
-                .endDate(LocalDate.of(2024, 1, 5))
-                .rates(Map.of(
-                        LocalDate.of(2024, 1, 1), Map.of("USD", new BigDecimal("0.000064")),
-                        LocalDate.of(2024, 1, 2), Map.of("USD", new BigDecimal("0.000065"))
-                ))
-                .build();
-
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(any())).thenReturn(requestHeadersSpec);
+        String json = "{\"amount\":1.0,\"base\":\"IDR\",\"start_date\":\"2024-01-01\",\"end_date\":\"2024-01-05\","
+                + "\"rates\":{\"2024-01-01\":{\"USD\":0.000064},\"2024-01-02\":{\"USD\":6.5e-05}}}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(HistoricalRatesResponse.class)).thenReturn(Mono.just(mockResponse));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(body(json));
 
         // Act & Assert
-        StepVerifier.create(strategy.fetchData().cast(HistoricalRatesResponse.class))
-                .assertNext(response -> {
-                    assertNotNull(response);
-                    assertEquals("IDR", response.getBase());
-                    assertNotNull(response.getRates());
+        StepVerifier.create(strategy.fetchData().cast(HistoricalRateSeries.class))
+                .assertNext(series -> {
+                    assertNotNull(series);
+                    assertEquals("IDR", series.getBase());
+                    assertEquals(new BigDecimal("1.0"), series.getAmount());
+                    assertEquals(LocalDate.of(2024, 1, 5), series.getEndDate());
+                    assertEquals(2, series.size());
+                    assertEquals(LocalDate.of(2024, 1, 1), series.getDate(0));
+                    assertEquals(new BigDecimal("0.000064"), series.getRate(series.currencyIndex("USD"), 0));
+                    assertEquals(new BigDecimal("0.000065"), series.getRate(series.currencyIndex("USD"), 1));
                 })
                 .verifyComplete();
 
@@ -87,11 +96,12 @@ class HistoricalIdrUsdStrategyTest {
     @Test
     void testFetchData_Error() {
         // Arrange
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(any())).thenReturn(requestHeadersSpec);
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(HistoricalRatesResponse.class))
-                .thenReturn(Mono.error(new WebClientResponseException(404, "Not Found", null, null, null)));
+        when(responseSpec.bodyToFlux(DataBuffer.class))
+                .thenReturn(Flux.error(new WebClientResponseException(404, "Not Found", null, null, null)));
 
         // Act & Assert
         StepVerifier.create(strategy.fetchData())
@@ -101,9 +111,89 @@ class HistoricalIdrUsdStrategyTest {
         verify(webClient).get();
     }
 
+    @Test
+    void testFetchData_MalformedBody() {
+        // Arrange
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(body("{\"rates\":{\"2024-01-01\":{\"USD\":"));
+
+        // Act & Assert
+        StepVerifier.create(strategy.fetchData())
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    @Test
+    void testFetchData_MergesWindowsInOrderAndRetriesFailedWindow() {
+        // Arrange
+        apiProperties.getHistorical().setWindowDays(2);
+        apiProperties.getHistorical().setRetryBackoff(Duration.ofMillis(1));
+        AtomicInteger firstWindowAttempts = new AtomicInteger();
+        Flux<DataBuffer> firstWindow = Flux.defer(() -> firstWindowAttempts.incrementAndGet() == 1
+                ? Flux.error(new WebClientResponseException(503, "Service Unavailable", null, null, null))
+                : body(window("2023-12-29", "2024-01-02", "0.000064", "0.000065")));
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class))
+                .thenReturn(firstWindow)
+                .thenReturn(body(window("2024-01-03", "2024-01-04", "0.000066", "0.000067")))
+                .thenReturn(body(window("2024-01-05", "2024-01-05", "0.000068", null)));
+
+        // Act & Assert
+        StepVerifier.create(strategy.fetchData().cast(HistoricalRateSeries.class))
+                .assertNext(series -> {
+                    assertEquals(5, series.size());
+                    assertEquals(LocalDate.of(2023, 12, 29), series.getStartDate());
+                    assertEquals(LocalDate.of(2024, 1, 5), series.getEndDate());
+                    assertEquals(LocalDate.of(2024, 1, 5), series.getDate(4));
+                    assertEquals(new BigDecimal("0.000068"), series.getRate(series.currencyIndex("USD"), 4));
+                })
+                .verifyComplete();
+
+        assertEquals(2, firstWindowAttempts.get());
+        verify(webClient, times(3)).get();
+    }
+
+    @Test
+    void testSplitIntoWindows() {
+        List<HistoricalIdrUsdStrategy.DateWindow> windows = HistoricalIdrUsdStrategy.splitIntoWindows(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5), 2);
+
+        assertEquals(List.of(
+                new HistoricalIdrUsdStrategy.DateWindow(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2)),
+                new HistoricalIdrUsdStrategy.DateWindow(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 4)),
+                new HistoricalIdrUsdStrategy.DateWindow(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 5))),
+                windows);
+    }
+
     @Test
     void testGetResourceType() {
         assertEquals("historical_idr_usd", strategy.getResourceType());
     }
-}
 
+    private static String window(String startDate, String endDate, String startRate, String endRate) {
+        String rates = "\"" + startDate + "\":{\"USD\":" + startRate + "}"
+                + (endRate != null ? ",\"" + endDate + "\":{\"USD\":" + endRate + "}" : "");
+        return "{\"amount\":1.0,\"base\":\"IDR\",\"start_date\":\"" + startDate + "\",\"end_date\":\""
+                + endDate + "\",\"rates\":{" + rates + "}}";
+    }
+
+    /**
+     * Splits the body into small chunks so tokens straddle buffer boundaries.
+     */
+    private static Flux<DataBuffer> body(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += 7) {
+            int length = Math.min(7, bytes.length - offset);
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, offset, offset + length)));
+        }
+        return Flux.fromIterable(chunks);
+    }
+}
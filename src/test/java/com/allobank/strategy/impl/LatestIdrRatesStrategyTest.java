@@ -1,25 +1,31 @@
 package com.allobank.strategy.impl;
 
 import com.allobank.config.FrankfurterApiProperties;
+import com.allobank.config.SpreadFactor;
 import com.allobank.dto.LatestRatesResponse;
 import com.allobank.util.SpreadCalculator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,10 +35,10 @@ class LatestIdrRatesStrategyTest {
     private WebClient webClient;
 
     @Mock
-    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+    private WebClient.RequestHeadersUriSpec<?> requestHeadersUriSpec;
 
     @Mock
-    private WebClient.RequestHeadersSpec requestHeadersSpec;
+    private WebClient.RequestHeadersSpec<?> requestHeadersSpec;
 
     @Mock
     private WebClient.ResponseSpec responseSpec;
@@ -45,8 +51,7 @@ class LatestIdrRatesStrategyTest {
         apiProperties = new FrankfurterApiProperties();
         apiProperties.setBaseUrl("https://api.frankfurter.app");
         
-        strategy = new LatestIdrRatesStrategy(webClient, apiProperties);
-        ReflectionTestUtils.setField(strategy, "githubUsername", "testuser");
+        strategy = new LatestIdrRatesStrategy(webClient, apiProperties, new SpreadFactor("testuser"));
     }
 
     @Test
@@ -59,8 +64,9 @@ class LatestIdrRatesStrategyTest {
                 .rates(Map.of("USD", new BigDecimal("0.000064")))
                 .build();
 
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(any())).thenReturn(requestHeadersSpec);
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(LatestRatesResponse.class)).thenReturn(Mono.just(mockResponse));
 
@@ -80,8 +86,9 @@ class LatestIdrRatesStrategyTest {
     @Test
     void testFetchData_Error() {
         // Arrange
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(any())).thenReturn(requestHeadersSpec);
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(LatestRatesResponse.class))
                 .thenReturn(Mono.error(new WebClientResponseException(500, "Internal Server Error", null, null, null)));
@@ -94,6 +101,108 @@ class LatestIdrRatesStrategyTest {
         verify(webClient).get();
     }
 
+    @Test
+    void testFetchData_SlowRequestIsHedged() {
+        // Arrange
+        apiProperties.getResilience().setHedgeDelay(Duration.ofMillis(50));
+        AtomicInteger requests = new AtomicInteger();
+        LatestRatesResponse mockResponse = LatestRatesResponse.builder()
+                .base("IDR")
+                .rates(Map.of("USD", new BigDecimal("0.000064")))
+                .build();
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(LatestRatesResponse.class)).thenReturn(Mono.defer(() ->
+                requests.incrementAndGet() == 1 ? Mono.never() : Mono.just(mockResponse)));
+
+        // Act & Assert
+        StepVerifier.create(strategy.fetchData().cast(LatestRatesResponse.class))
+                .assertNext(response -> assertNotNull(response.getUsdBuySpreadIdr()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testFetchData_HedgeAnswerOutlivesFailedFirstRequest() {
+        // Arrange
+        apiProperties.getResilience().setHedgeDelay(Duration.ofMillis(50));
+        AtomicInteger requests = new AtomicInteger();
+        LatestRatesResponse mockResponse = LatestRatesResponse.builder()
+                .base("IDR")
+                .rates(Map.of("USD", new BigDecimal("0.000064")))
+                .build();
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(LatestRatesResponse.class)).thenReturn(Mono.defer(() ->
+                requests.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofMillis(100)).then(Mono.error(
+                                new WebClientResponseException(404, "Not Found", null, null, null)))
+                        : Mono.just(mockResponse).delayElement(Duration.ofMillis(150))));
+
+        // Act & Assert
+        StepVerifier.create(strategy.fetchData().cast(LatestRatesResponse.class))
+                .assertNext(response -> assertNotNull(response.getUsdBuySpreadIdr()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testFetchData_FailureBeforeHedgeDelayIsNotHedged() {
+        // Arrange
+        apiProperties.getResilience().setHedgeDelay(Duration.ofMillis(200));
+        AtomicInteger requests = new AtomicInteger();
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(LatestRatesResponse.class)).thenReturn(Mono.defer(() -> {
+            requests.incrementAndGet();
+            return Mono.error(new WebClientResponseException(404, "Not Found", null, null, null));
+        }));
+
+        // Act & Assert
+        StepVerifier.create(strategy.fetchData())
+                .expectError(WebClientResponseException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testFetchData_TransientErrorIsRetried() {
+        // Arrange
+        apiProperties.getResilience().setRetryBackoff(Duration.ofMillis(1));
+        AtomicInteger requests = new AtomicInteger();
+        LatestRatesResponse mockResponse = LatestRatesResponse.builder()
+                .base("IDR")
+                .rates(Map.of("USD", new BigDecimal("0.000064")))
+                .build();
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec)
+                .uri(ArgumentMatchers.<Function<UriBuilder, URI>>any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(LatestRatesResponse.class)).thenReturn(Mono.defer(() ->
+                requests.incrementAndGet() == 1
+                        ? Mono.error(new WebClientResponseException(503, "Service Unavailable", null, null, null))
+                        : Mono.just(mockResponse)));
+
+        // Act & Assert
+        StepVerifier.create(strategy.fetchData())
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(2, requests.get());
+    }
+
     @Test
     void testEnrichWithSpread_Calculation() {
         // Arrange
@@ -1,5 +1,6 @@
 package com.allobank.strategy.impl;
 
+import com.allobank.config.FrankfurterApiProperties;
 import com.allobank.dto.CurrenciesResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +15,7 @@ import reactor.test.StepVerifier;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,10 +25,10 @@ class SupportedCurrenciesStrategyTest {
     private WebClient webClient;
 
     @Mock
-    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+    private WebClient.RequestHeadersUriSpec<?> requestHeadersUriSpec;
 
     @Mock
-    private WebClient.RequestHeadersSpec requestHeadersSpec;
+    private WebClient.RequestHeadersSpec<?> requestHeadersSpec;
 
     @Mock
     private WebClient.ResponseSpec responseSpec;
@@ -36,7 +37,7 @@ class SupportedCurrenciesStrategyTest {
 
     @BeforeEach
     void setUp() {
-        strategy = new SupportedCurrenciesStrategy(webClient);
+        strategy = new SupportedCurrenciesStrategy(webClient, new FrankfurterApiProperties());
     }
 
     @Test
@@ -50,8 +51,8 @@ class SupportedCurrenciesStrategyTest {
                 ))
                 .build();
 
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(any())).thenReturn(requestHeadersSpec);
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri(anyString());
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(CurrenciesResponse.class)).thenReturn(Mono.just(mockResponse));
 
@@ -71,8 +72,8 @@ class SupportedCurrenciesStrategyTest {
     @Test
     void testFetchData_Error() {
         // Arrange
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(any())).thenReturn(requestHeadersSpec);
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri(anyString());
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(CurrenciesResponse.class))
                 .thenReturn(Mono.error(new WebClientResponseException(500, "Internal Server Error", null, null, null)));
@@ -3,6 +3,9 @@ package com.allobank.util;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -82,5 +85,113 @@ class SpreadCalculatorTest {
             SpreadCalculator.calculateUsdBuySpreadIdr(new BigDecimal("0.000064"), null);
         });
     }
-}
 
+    @Test
+    void testCalculateSpreadFactor_MatchesOriginalFormula() {
+        for (String username : new String[]{"testuser", "defaultuser", "dimasprass", "A", "zzzzzzzzzzzzzzzz"}) {
+            int modulo = username.toLowerCase().chars().sum() % 1000;
+            BigDecimal expected = BigDecimal.valueOf(modulo)
+                    .divide(BigDecimal.valueOf(100000.0), 5, RoundingMode.HALF_UP);
+
+            assertEquals(expected, SpreadCalculator.calculateSpreadFactor(username));
+            assertEquals(modulo, SpreadCalculator.calculateSpreadFactorUnits(username));
+        }
+    }
+
+    @Test
+    void testApplyBuySpread_DividesByOnePlusSpreadFactor() {
+        assertEquals(0, BigDecimal.ONE.compareTo(
+                SpreadCalculator.applyBuySpread(new BigDecimal("1.00895"), 895, MathContext.DECIMAL64)));
+        assertEquals(new BigDecimal("0.00006194558699638238"),
+                SpreadCalculator.applyBuySpread(new BigDecimal("0.0000625"), 895, MathContext.DECIMAL64));
+        assertThrows(IllegalArgumentException.class,
+                () -> SpreadCalculator.applyBuySpread(BigDecimal.ONE, -1, MathContext.DECIMAL64));
+    }
+
+    @Test
+    void testFixedPoint_ExhaustiveOverSpreadFactorsMatchesBigDecimal() {
+        // Every possible spread factor against realistic IDR->USD rates 0.00006000..0.00007999
+        for (int units = 0; units < 1000; units++) {
+            BigDecimal spreadFactor = BigDecimal.valueOf(units, SpreadCalculator.SPREAD_FACTOR_SCALE);
+            for (long rate = 6_000; rate < 8_000; rate++) {
+                BigDecimal expected = SpreadCalculator.calculateUsdBuySpreadIdr(BigDecimal.valueOf(rate, 8), spreadFactor);
+                long actual = SpreadCalculator.calculateUsdBuySpreadIdrUnscaled(rate, 8, units);
+
+                if (!expected.equals(BigDecimal.valueOf(actual, SpreadCalculator.RESULT_SCALE))) {
+                    fail("rate=" + rate + "e-8, spread units=" + units + ": expected " + expected + " but was " + actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFixedPoint_RandomizedMatchesBigDecimal() {
+        Random random = new Random(20240105L);
+        int representable = 0;
+        for (int i = 0; i < 200_000; i++) {
+            long unscaled = (random.nextBoolean() ? 1 : -1) * (1 + (long) (random.nextDouble() * 1_000_000_000_000L));
+            int scale = random.nextInt(16) - 4;
+            int units = random.nextInt(1000);
+            BigDecimal usdRate = BigDecimal.valueOf(unscaled, scale);
+            BigDecimal expected = SpreadCalculator.calculateUsdBuySpreadIdr(usdRate,
+                    BigDecimal.valueOf(units, SpreadCalculator.SPREAD_FACTOR_SCALE));
+
+            long actual = SpreadCalculator.calculateUsdBuySpreadIdrUnscaled(unscaled, scale, units);
+            if (actual != SpreadCalculator.NOT_REPRESENTABLE) {
+                representable++;
+                assertEquals(expected, BigDecimal.valueOf(actual, SpreadCalculator.RESULT_SCALE),
+                        () -> "rate=" + usdRate + ", spread units=" + units);
+            }
+            // The routing overload falls back to BigDecimal whenever the fast path cannot be used
+            assertEquals(expected, SpreadCalculator.calculateUsdBuySpreadIdr(usdRate, units));
+        }
+        assertTrue(representable > 100_000, "Fast path should cover most inputs, covered " + representable);
+    }
+
+    @Test
+    void testFixedPoint_RoundingBoundaries() {
+        // 1 / 3 rounds down, 1 / 0.000016 is exact, and 2/3 rounds up
+        assertEquals(3333333333L, SpreadCalculator.calculateUsdBuySpreadIdrUnscaled(3, 0, 0));
+        assertEquals(625000000000000L, SpreadCalculator.calculateUsdBuySpreadIdrUnscaled(16, 6, 0));
+        assertEquals(6666666667L, SpreadCalculator.calculateUsdBuySpreadIdrUnscaled(15, 1, 0));
+        assertEquals(SpreadCalculator.NOT_REPRESENTABLE, SpreadCalculator.calculateUsdBuySpreadIdrUnscaled(1, 9, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> SpreadCalculator.calculateUsdBuySpreadIdrUnscaled(0, 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> SpreadCalculator.calculateUsdBuySpreadIdrUnscaled(1, 0, -1));
+    }
+
+    @Test
+    void testSellFixedPoint_RandomizedMatchesBigDecimal() {
+        Random random = new Random(20240106L);
+        int representable = 0;
+        for (int i = 0; i < 200_000; i++) {
+            long unscaled = (random.nextBoolean() ? 1 : -1) * (1 + (long) (random.nextDouble() * 1_000_000_000_000L));
+            int scale = random.nextInt(16) - 4;
+            int units = random.nextInt(1000);
+            BigDecimal rate = BigDecimal.valueOf(unscaled, scale);
+            BigDecimal expected = SpreadCalculator.calculateSellSpreadIdr(rate,
+                    BigDecimal.valueOf(units, SpreadCalculator.SPREAD_FACTOR_SCALE));
+
+            long actual = SpreadCalculator.calculateSellSpreadIdrUnscaled(unscaled, scale, units);
+            if (actual != SpreadCalculator.NOT_REPRESENTABLE) {
+                representable++;
+                assertEquals(expected, BigDecimal.valueOf(actual, SpreadCalculator.RESULT_SCALE),
+                        () -> "rate=" + rate + ", spread units=" + units);
+            }
+            assertEquals(expected, SpreadCalculator.calculateSellSpreadIdr(rate, units));
+        }
+        assertTrue(representable > 100_000, "Fast path should cover most inputs, covered " + representable);
+    }
+
+    @Test
+    void testSellFixedPoint_RoundingBoundaries() {
+        // 2 * (1 - 0.00001) is exact, and 0.0009765625 * 0.9 = 0.00087890625 is a tie that rounds up
+        assertEquals(19999800000L, SpreadCalculator.calculateSellSpreadIdrUnscaled(5, 1, 1));
+        assertEquals(8789063L, SpreadCalculator.calculateSellSpreadIdrUnscaled(1024, 0, 10_000));
+        assertEquals(-20000000000L, SpreadCalculator.calculateSellSpreadIdrUnscaled(-5, 1, 0));
+        assertEquals(SpreadCalculator.NOT_REPRESENTABLE, SpreadCalculator.calculateSellSpreadIdrUnscaled(1, 0, 100_001));
+        assertThrows(IllegalArgumentException.class,
+                () -> SpreadCalculator.calculateSellSpreadIdrUnscaled(0, 0, 1));
+    }
+}